@@ -0,0 +1,33 @@
+package org.example.bench;
+
+import org.example.graph.topo.Condensation;
+import org.example.graph.topo.CondensationBuilder;
+import org.example.model.CsrGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx8g")
+public class CondensationBenchmark {
+
+    @Benchmark
+    public List<Set<Integer>> buildHashSets(GraphState state) {
+        return CondensationBuilder.build(state.n, state.compId, state.adj, state.compCount);
+    }
+
+    @Benchmark
+    public CsrGraph buildCsr(GraphState state) {
+        return CondensationBuilder.buildCsr(state.graph, state.compId, state.compCount);
+    }
+
+    @Benchmark
+    public Condensation buildWeighted(GraphState state) {
+        return CondensationBuilder.buildWeighted(state.graph, state.compId, state.compCount);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.bench;
+
+import org.example.graph.dagsp.DAGPaths;
+import org.example.metrics.PerformanceTracker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx8g")
+public class DagPathsBenchmark {
+
+    @Benchmark
+    public DAGPaths.Result shortestPaths(GraphState state) {
+        DAGPaths paths = new DAGPaths(state.dag, new PerformanceTracker());
+        return paths.shortestPaths(state.topoOrder.get(0), state.topoOrder);
+    }
+
+    @Benchmark
+    public DAGPaths.Result longestPaths(GraphState state) {
+        DAGPaths paths = new DAGPaths(state.dag, new PerformanceTracker());
+        return paths.longestPaths(state.topoOrder.get(0), state.topoOrder);
+    }
+}
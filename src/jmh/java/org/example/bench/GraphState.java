@@ -0,0 +1,58 @@
+package org.example.bench;
+
+import org.example.gen.GraphFamily;
+import org.example.gen.GraphGen;
+import org.example.graph.scc.Tarjan;
+import org.example.graph.topo.CondensationBuilder;
+import org.example.graph.topo.KahnTopoSort;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.example.model.Edge;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One generated graph per {@code (family, n, degree)} trial, together with the inputs the
+ * later pipeline stages need, so each benchmark measures only its own stage. The graphs
+ * come from {@link GraphFamily}, the same generator as {@code GraphGen}, with
+ * {@code degree * n} edges; pass {@code -p degree=32} for dense inputs.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    @Param({"ERDOS_RENYI", "RMAT", "LAYERED_DAG", "DEEP_CHAIN", "GIANT_SCC", "TINY_SCCS"})
+    public GraphFamily family;
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param("4")
+    public int degree;
+
+    @Param("42")
+    public long seed;
+
+    public CsrGraph graph;
+    public List<List<Edge>> adj;
+    public int[] compId;
+    public int compCount;
+    public CsrGraph dag;
+    public List<Integer> topoOrder;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        graph = GraphGen.generate(family, n, (long) degree * n, seed);
+        adj = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) adj.add(new ArrayList<>(graph.outDegree(v)));
+        for (Edge e : graph.edges()) adj.get(e.from()).add(e);
+
+        Tarjan scc = new Tarjan(graph, new PerformanceTracker());
+        scc.run();
+        compId = scc.getComponentIds();
+        compCount = scc.count();
+        dag = CondensationBuilder.buildWeighted(graph, compId, compCount).minDag();
+        topoOrder = new KahnTopoSort(dag, new PerformanceTracker()).order();
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.bench;
+
+import org.example.graph.scc.Tarjan;
+import org.example.graph.topo.Condensation;
+import org.example.graph.topo.CondensationBuilder;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.GraphView;
+import org.example.model.OffHeapCsrGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SCC plus condensation on the same graph held on the heap and off it, to check that the
+ * {@link GraphView} indirection costs nothing once the JIT has seen a single implementation.
+ * Run with {@code -prof gc} to compare allocation and collection counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xss512m", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class OffHeapBenchmark {
+    @Param({"heap", "off-heap"})
+    public String storage;
+
+    private GraphView view;
+    private OffHeapCsrGraph offHeap;
+
+    @Setup(Level.Trial)
+    public void setUp(GraphState state) {
+        if (storage.equals("off-heap")) {
+            offHeap = OffHeapCsrGraph.copyOf(state.graph);
+            view = offHeap;
+        } else {
+            view = state.graph;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (offHeap != null) offHeap.close();
+    }
+
+    @Benchmark
+    public Condensation sccAndCondense() {
+        Tarjan scc = new Tarjan(view, new PerformanceTracker());
+        scc.run();
+        return CondensationBuilder.buildWeighted(view, scc.getComponentIds(), scc.count());
+    }
+}
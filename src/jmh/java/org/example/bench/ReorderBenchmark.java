@@ -0,0 +1,81 @@
+package org.example.bench;
+
+import org.example.graph.scc.SccAlgorithm;
+import org.example.graph.topo.CondensationBuilder;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.example.model.Relabeling;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SCC and condensation on a large sparse graph whose ids have been shuffled, before and
+ * after {@link Relabeling}. The graph is a square lattice with each edge pointing a random
+ * way, so neighbours are local in the drawing but scattered in memory until relabeled.
+ * {@link #relabel} measures what the relabeling itself costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xss512m", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ReorderBenchmark {
+    @Param({"none", "bfs", "rcm", "degree"})
+    public String order;
+
+    @Param({"100000", "1000000"})
+    public int n;
+
+    @Param("42")
+    public long seed;
+
+    private CsrGraph shuffled;
+    private CsrGraph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        int side = (int) Math.sqrt(n);
+        int size = side * side;
+        int[] id = new int[size];
+        for (int v = 0; v < size; v++) id[v] = v;
+        for (int v = size - 1; v > 0; v--) {
+            int j = rnd.nextInt(v + 1);
+            int t = id[v];
+            id[v] = id[j];
+            id[j] = t;
+        }
+        CsrGraph.Builder b = new CsrGraph.Builder(size, 2 * size);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) edge(b, rnd, id[v], id[v + 1]);
+                if (r + 1 < side) edge(b, rnd, id[v], id[v + side]);
+            }
+        }
+        shuffled = b.build();
+        graph = order.equals("none") ? shuffled
+                : Relabeling.of(Relabeling.Strategy.of(order), shuffled).apply(shuffled);
+    }
+
+    private static void edge(CsrGraph.Builder b, SplittableRandom rnd, int u, int v) {
+        if (rnd.nextBoolean()) b.addEdge(u, v, 1 + rnd.nextInt(10));
+        else b.addEdge(v, u, 1 + rnd.nextInt(10));
+    }
+
+    @Benchmark
+    public CsrGraph sccAndCondensation() {
+        SccAlgorithm scc = SccAlgorithm.create("tarjan", graph, new PerformanceTracker());
+        scc.run();
+        return CondensationBuilder.buildWeighted(graph, scc.getComponentIds(), scc.count()).minDag();
+    }
+
+    @Benchmark
+    public CsrGraph relabel() {
+        if (order.equals("none")) return shuffled;
+        return Relabeling.of(Relabeling.Strategy.of(order), shuffled).apply(shuffled);
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.bench;
+
+import org.example.graph.scc.SccAlgorithm;
+import org.example.metrics.PerformanceTracker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xss512m", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class SccBenchmark {
+    @Param({"kosaraju", "kosaraju-iterative", "tarjan", "parallel"})
+    public String engine;
+
+    @Benchmark
+    public int[] run(GraphState state) {
+        SccAlgorithm scc = SccAlgorithm.create(engine, state.graph, new PerformanceTracker());
+        scc.run();
+        return scc.getComponentIds();
+    }
+}
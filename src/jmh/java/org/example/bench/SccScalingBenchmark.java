@@ -0,0 +1,82 @@
+package org.example.bench;
+
+import org.example.graph.scc.ParallelScc;
+import org.example.graph.scc.Tarjan;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Strong-scaling run of {@link ParallelScc} against single-threaded {@link Tarjan}.
+ * <pre>
+ * mvn -P jmh package
+ * java -Xmx8g -cp target/benchmarks.jar org.example.bench.SccScalingBenchmark \
+ *     [vertices=2000000] [avgDegree=10] [maxThreads=cores] [repeats=3] [seed=42]
+ * </pre>
+ * The synthetic graph has one giant SCC over half of the vertices plus a random DAG-like
+ * tail, so both the trim and the FW-BW phases get real work.
+ */
+public class SccScalingBenchmark {
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        if (maxThreads < 1) throw new IllegalArgumentException("maxThreads must be at least 1");
+        int repeats = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42L;
+
+        System.out.printf("Generating graph: %,d vertices, ~%,d edges%n", n, (long) n * degree);
+        CsrGraph g = generate(n, degree, seed);
+
+        PerformanceTracker base = new PerformanceTracker();
+        Tarjan tarjan = new Tarjan(g, base);
+        tarjan.run();
+        System.out.printf("tarjan      : %10.1f ms  components=%d%n", base.getTimeMs(), tarjan.count());
+
+        // Powers of two up to maxThreads, then maxThreads itself.
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int t = 1; t < maxThreads; t *= 2) threadCounts.add(t);
+        threadCounts.add(maxThreads);
+
+        double single = 0;
+        for (int threads : threadCounts) {
+            double best = Double.MAX_VALUE;
+            int count = 0;
+            for (int r = 0; r < repeats; r++) {
+                PerformanceTracker m = new PerformanceTracker();
+                ParallelScc scc = new ParallelScc(g, m, threads);
+                scc.run();
+                best = Math.min(best, m.getTimeMs());
+                count = scc.count();
+            }
+            if (threads == 1) single = best;
+            System.out.printf("parallel x%-3d: %10.1f ms  speedup=%.2f  components=%d%n",
+                    threads, best, single / best, count);
+            if (count != tarjan.count())
+                throw new IllegalStateException("Component count mismatch: " + count + " vs " + tarjan.count());
+        }
+    }
+
+    static CsrGraph generate(int n, int degree, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        long m = (long) n * degree;
+        if (m > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Too many edges: " + m);
+        CsrGraph.Builder b = new CsrGraph.Builder(n, (int) m);
+        int core = n / 2;
+        for (long i = 0; i < m; i++) {
+            int u = rnd.nextInt(n);
+            int v;
+            if (u < core) {
+                v = rnd.nextInt(core);
+            } else {
+                v = u + 1 + rnd.nextInt(Math.max(1, Math.min(64, n - u - 1)));
+                if (v >= n) v = rnd.nextInt(core);
+            }
+            b.addEdge(u, v, 1.0);
+        }
+        return b.build();
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.bench;
+
+import org.example.graph.topo.KahnTopoSort;
+import org.example.metrics.PerformanceTracker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx8g")
+public class TopoSortBenchmark {
+
+    @Benchmark
+    public List<Integer> order(GraphState state) {
+        return new KahnTopoSort(state.dag, new PerformanceTracker()).order();
+    }
+
+    @Benchmark
+    public int[] orderArray(GraphState state) {
+        return new KahnTopoSort(state.dag, new PerformanceTracker()).orderArray();
+    }
+}
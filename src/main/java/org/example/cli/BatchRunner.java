@@ -0,0 +1,312 @@
+package org.example.cli;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.io.GraphReader;
+import org.example.io.GraphSource;
+import org.example.io.ResultWriter;
+import org.example.metrics.MetricsSink;
+import org.example.model.CsrGraph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Batch mode: analyses every graph file in a directory tree, or every file matching a glob
+ * such as {@code 'data/**.json'}, and writes {@code <file>.scc.json},
+ * {@code <file>.topo.json} and {@code <file>.dagsp.json} for each into {@code --out}, where
+ * {@code <file>} is the input's path relative to the batch root, extension included, so
+ * {@code g.json} and its converted {@code g.csrg} get separate results.
+ * {@code summary.json} lists every file with its counts, time and error, and totals the
+ * batch with its throughput. Takes the same options as {@link CliRunner}.
+ * <p>
+ * Every file gets a virtual thread that reads its graphs, waits for their analyses and
+ * writes the results, so parsing and writing of many files overlap. The analyses run on
+ * {@code --workers} platform threads, which keeps CPU-bound work off the virtual threads'
+ * carriers. At most {@code --in-flight} files are open at once, each holding one parsed
+ * graph or unwritten result. A failing file is recorded in the summary and does not stop
+ * the others. Metrics go through one platform thread, as the sinks hold a monitor during
+ * their file I/O, which would pin a virtual thread to its carrier.
+ */
+public class BatchRunner {
+    static final String SUMMARY = "summary.json";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Outcome of one input file. */
+    public static final class FileResult {
+        /** Path relative to the batch root. */
+        public final String name;
+        /** Graphs whose results were written. */
+        public final int graphs;
+        public final long vertices;
+        public final long edges;
+        public final long nanos;
+        /** Why the file failed, or {@code null}. */
+        public final String error;
+
+        FileResult(String name, int graphs, long vertices, long edges, long nanos, String error) {
+            this.name = name;
+            this.graphs = graphs;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.nanos = nanos;
+            this.error = error;
+        }
+    }
+
+    /** All files of a batch, in input order; rates are over the batch's wall-clock time. */
+    public static final class Summary {
+        public final List<FileResult> files;
+        public final long wallNanos;
+        public final int failed;
+        public final int graphs;
+        public final long vertices;
+        public final long edges;
+
+        Summary(List<FileResult> files, long wallNanos) {
+            this.files = List.copyOf(files);
+            this.wallNanos = wallNanos;
+            int failed = 0, graphs = 0;
+            long vertices = 0, edges = 0;
+            for (FileResult f : files) {
+                if (f.error != null) failed++;
+                graphs += f.graphs;
+                vertices += f.vertices;
+                edges += f.edges;
+            }
+            this.failed = failed;
+            this.graphs = graphs;
+            this.vertices = vertices;
+            this.edges = edges;
+        }
+
+        public double graphsPerSecond() { return graphs / Math.max(wallNanos / 1e9, 1e-9); }
+        public double edgesPerSecond() { return edges / Math.max(wallNanos / 1e9, 1e-9); }
+
+        Map<String, Object> toJson() {
+            List<Map<String, Object>> list = new ArrayList<>();
+            for (FileResult f : files) {
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("file", f.name);
+                m.put("graphs", f.graphs);
+                m.put("vertices", f.vertices);
+                m.put("edges", f.edges);
+                m.put("time_ms", f.nanos / 1e6);
+                if (f.error != null) m.put("error", f.error);
+                list.add(m);
+            }
+            Map<String, Object> total = new LinkedHashMap<>();
+            total.put("files", files.size());
+            total.put("failed", failed);
+            total.put("graphs", graphs);
+            total.put("vertices", vertices);
+            total.put("edges", edges);
+            total.put("time_ms", wallNanos / 1e6);
+            total.put("graphs_per_sec", graphsPerSecond());
+            total.put("edges_per_sec", edgesPerSecond());
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("total", total);
+            json.put("files", list);
+            return json;
+        }
+    }
+
+    private final CliOptions options;
+    private final Path outDir;
+    private final ResultCache cache;
+    private final MetricsSink metrics;
+
+    /** {@code cache} and {@code metrics} may be {@code null}. */
+    public BatchRunner(CliOptions options, ResultCache cache, MetricsSink metrics) {
+        this.options = options;
+        this.outDir = Path.of(options.outDir());
+        this.cache = cache;
+        this.metrics = metrics;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        CliOptions options = CliOptions.parse(args);
+        List<Path> files = inputs(options.inputPath());
+        if (files.isEmpty()) throw new IllegalArgumentException("No graph files match " + options.inputPath());
+        System.out.println("Processing " + files.size() + " files from " + options.inputPath() + "...");
+
+        ResultCache cache = options.cachePath() == null ? null
+                : new ResultCache(Path.of(options.cachePath()), options.cacheMaxBytes(), options);
+        Summary summary;
+        try (MetricsSink metricsOut = options.metricsPath() == null ? null : MetricsSink.open(options.metricsPath())) {
+            summary = new BatchRunner(options, cache, metricsOut).run(root(options.inputPath()), files);
+        }
+        for (FileResult f : summary.files) {
+            if (f.error != null) System.out.println("FAILED " + f.name + ": " + f.error);
+        }
+        System.out.printf("Processed %d graphs (%d edges) from %d files in %.1f s: %.1f graphs/s, %.0f edges/s.%n",
+                summary.graphs, summary.edges, summary.files.size(), summary.wallNanos / 1e9,
+                summary.graphsPerSecond(), summary.edgesPerSecond());
+        if (cache != null) {
+            System.out.println("Cache: " + cache.hits() + " hits, " + cache.misses() + " misses.");
+        }
+        System.out.println("Summary saved to " + Path.of(options.outDir()).resolve(SUMMARY) + ".");
+        if (summary.failed > 0) System.exit(1);
+    }
+
+    /**
+     * Input files for {@code pattern}, sorted: the file itself, every {@code .json} and
+     * {@link GraphReader#BINARY_EXTENSION} file below a directory, or the files matching a
+     * glob relative to its leading literal directory (see {@link #root}).
+     */
+    public static List<Path> inputs(String pattern) throws IOException {
+        Path root = root(pattern);
+        int glob = globStart(pattern);
+        PathMatcher matcher;
+        if (glob >= 0) {
+            String rest = pattern.substring(pattern.lastIndexOf('/', glob) + 1);
+            matcher = root.getFileSystem().getPathMatcher("glob:" + rest);
+        } else if (Files.isDirectory(Path.of(pattern))) {
+            matcher = p -> p.toString().endsWith(".json") || p.toString().endsWith(GraphReader.BINARY_EXTENSION);
+        } else if (Files.isRegularFile(Path.of(pattern))) {
+            return List.of(Path.of(pattern));
+        } else {
+            throw new NoSuchFileException(pattern);
+        }
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(Files::isRegularFile)
+                    .filter(p -> matcher.matches(root.relativize(p)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Directory the output names are relative to: a plain directory itself, a file's parent,
+     * or a glob's path up to the last separator before its first wildcard.
+     */
+    static Path root(String pattern) {
+        int glob = globStart(pattern);
+        if (glob >= 0) {
+            int slash = pattern.lastIndexOf('/', glob);
+            return Path.of(slash < 0 ? "." : slash == 0 ? "/" : pattern.substring(0, slash));
+        }
+        Path path = Path.of(pattern);
+        if (Files.isDirectory(path)) return path;
+        Path parent = path.getParent();
+        return parent == null ? Path.of(".") : parent;
+    }
+
+    private static int globStart(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if ("*?[{".indexOf(pattern.charAt(i)) >= 0) return i;
+        }
+        return -1;
+    }
+
+    /** Processes {@code files}, writes their results and the summary under {@code --out}. */
+    public Summary run(Path root, List<Path> files) throws IOException, InterruptedException {
+        Files.createDirectories(outDir);
+        Semaphore open = new Semaphore(options.inFlight());
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService cpu = Executors.newFixedThreadPool(options.workers(), r -> {
+            Thread t = new Thread(r, "graph-worker-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        ExecutorService sink = metrics == null ? null : Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "metrics-writer");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long start = System.nanoTime();
+        List<Future<FileResult>> pending = new ArrayList<>(files.size());
+        try (ExecutorService io = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path file : files) {
+                String name = name(root, file);
+                pending.add(io.submit(() -> {
+                    open.acquire();
+                    try {
+                        return process(file, name, cpu, sink);
+                    } finally {
+                        open.release();
+                    }
+                }));
+            }
+        } finally {
+            cpu.shutdownNow();
+            if (sink != null) sink.shutdown();
+        }
+        long wall = System.nanoTime() - start;
+
+        List<FileResult> results = new ArrayList<>(files.size());
+        for (Future<FileResult> f : pending) {
+            try {
+                results.add(f.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Batch task failed", e.getCause());
+            }
+        }
+        Summary summary = new Summary(results, wall);
+        var writer = options.pretty() ? MAPPER.writerWithDefaultPrettyPrinter() : MAPPER.writer();
+        writer.writeValue(outDir.resolve(SUMMARY).toFile(), summary.toJson());
+        return summary;
+    }
+
+    private static String name(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+
+    /** One file's read/analyse/write cycle, on the calling virtual thread. */
+    private FileResult process(Path file, String name, ExecutorService cpu, ExecutorService sink) {
+        long start = System.nanoTime();
+        int graphs = 0;
+        long vertices = 0, edges = 0;
+        String error = null;
+        String base = outDir.resolve(name).toString();
+        try {
+            Files.createDirectories(outDir.resolve(name).getParent());
+            Pipeline.Stage<CsrGraph, GraphAnalysis> analyse = (graphId, g) -> GraphAnalysis.run(graphId, g, options);
+            try (GraphSource source = GraphReader.open(file.toString());
+                 ResultWriter sccOut = new ResultWriter(base + ".scc.json", options.pretty());
+                 ResultWriter topoOut = new ResultWriter(base + ".topo.json", options.pretty());
+                 ResultWriter dagOut = new ResultWriter(base + ".dagsp.json", options.pretty())) {
+                while (source.hasNext()) {
+                    CsrGraph g = source.next();
+                    int graphId = graphs + 1;
+                    GraphAnalysis result = cpu.submit(() -> cache == null ? analyse.apply(graphId, g)
+                            : cache.computeIfAbsent(graphId, g, analyse)).get();
+                    sccOut.write(result.scc);
+                    topoOut.write(result.topo);
+                    dagOut.write(result.dag);
+                    if (metrics != null && !result.cached) {
+                        String scope = name + "/graph-" + graphId + "/";
+                        sink.submit(() -> {
+                            metrics.record(scope + "scc", result.sccMetrics);
+                            metrics.record(scope + "topo", result.topoMetrics);
+                            metrics.record(scope + "dagsp", result.dagMetrics);
+                            return null;
+                        }).get();
+                    }
+                    graphs++;
+                    vertices += g.size();
+                    edges += g.edgeCount();
+                }
+            }
+        } catch (ExecutionException e) {
+            error = describe(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "interrupted";
+        } catch (IOException | RuntimeException e) {
+            error = describe(e);
+        }
+        System.out.println("=== " + name + " (" + graphs + " graphs) " + (error == null ? "done" : "failed") + " ===");
+        return new FileResult(name, graphs, vertices, edges, System.nanoTime() - start, error);
+    }
+
+    private static String describe(Throwable t) {
+        if (t instanceof UncheckedIOException u) t = u.getCause();
+        return t.getMessage() != null ? t.getMessage() : t.getClass().getSimpleName();
+    }
+}
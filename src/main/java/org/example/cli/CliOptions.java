@@ -0,0 +1,142 @@
+package org.example.cli;
+
+import org.example.graph.scc.SccAlgorithm;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.Relabeling;
+
+import java.util.List;
+
+/**
+ * Command line: {@code [input.json] [--scc=<engine>] [--scc-threads=N]
+ * [--topo=<kahn|parallel>] [--topo-threads=N] [--reduce] [--schedule=P] [--top-paths=K]
+ * [--reorder=<bfs|rcm|degree>] [--workers=N] [--in-flight=N] [--compact] [--metrics=<file>]
+ * [--no-metrics] [--cache[=<dir>]] [--cache-max-mb=N] [--port=N] [--out=<dir>]}.
+ * {@code --topo=parallel} sorts the condensation level by level on {@code --topo-threads}
+ * threads and adds each component's level to the topological result.
+ * {@code --reduce} sorts the transitive reduction of the condensation instead (see
+ * {@code TransitiveReduction}); paths are still computed on the full condensation.
+ * {@code --schedule=P} adds critical-path scheduling of the components onto P workers to the
+ * DAG result, with the {@code --top-paths=K} longest paths (default 3).
+ * {@code --reorder} relabels the vertices for locality before the analysis (see
+ * {@link Relabeling}); component numbering may change, vertex ids in the output do not.
+ * {@code --workers} graphs are analysed concurrently; {@code --in-flight} bounds how many
+ * parsed graphs and unwritten results may be held at once (default twice the workers).
+ * {@code --compact} writes the result files without pretty-printing.
+ * {@code --metrics=<file.csv|file.json>} exports every tracker with its phases;
+ * {@code --no-metrics} swaps in no-op trackers so counting costs nothing.
+ * {@code --cache} serves unchanged graphs from a {@link ResultCache} (default directory
+ * {@code results/.cache}, at most {@code --cache-max-mb} megabytes, default 256).
+ * {@code --port=N} makes {@link QueryServer} listen on {@code localhost:N} instead of stdin.
+ * {@code --out=<dir>} is where {@link BatchRunner} writes its per-file results and summary
+ * (default {@code results/batch}).
+ * Inputs ending in {@code .csrg} are read as binary CSR files (see {@code JsonToBinary}).
+ */
+public class CliOptions {
+    static final List<String> TOPO_ENGINES = List.of("kahn", "parallel");
+
+    private String inputPath = "data/large_graphs.json";
+    private String sccEngine = "kosaraju";
+    private int sccThreads = Runtime.getRuntime().availableProcessors();
+    private String topoEngine = "kahn";
+    private int topoThreads = Runtime.getRuntime().availableProcessors();
+    private boolean reduce;
+    private int scheduleWorkers;
+    private int topPaths = 3;
+    private Relabeling.Strategy reorder;
+    private int workers = 1;
+    private int inFlight = -1;
+    private boolean pretty = true;
+    private boolean metrics = true;
+    private String metricsPath;
+    private String cachePath;
+    private long cacheMaxBytes = 256L << 20;
+    private int port;
+    private String outDir = "results/batch";
+
+    public static CliOptions parse(String[] args) {
+        CliOptions o = new CliOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                o.inputPath = arg;
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            String key = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? "" : arg.substring(eq + 1);
+            switch (key) {
+                case "scc" -> {
+                    if (!SccAlgorithm.ENGINES.contains(value))
+                        throw new IllegalArgumentException("Unknown SCC engine: " + value
+                                + " (expected one of " + SccAlgorithm.ENGINES + ")");
+                    o.sccEngine = value;
+                }
+                case "scc-threads" -> o.sccThreads = positive(key, value);
+                case "topo" -> {
+                    if (!TOPO_ENGINES.contains(value))
+                        throw new IllegalArgumentException("Unknown topological sort: " + value
+                                + " (expected one of " + TOPO_ENGINES + ")");
+                    o.topoEngine = value;
+                }
+                case "topo-threads" -> o.topoThreads = positive(key, value);
+                case "reduce" -> o.reduce = true;
+                case "schedule" -> o.scheduleWorkers = positive(key, value);
+                case "top-paths" -> o.topPaths = positive(key, value);
+                case "reorder" -> o.reorder = Relabeling.Strategy.of(value);
+                case "workers" -> o.workers = positive(key, value);
+                case "in-flight" -> o.inFlight = positive(key, value);
+                case "compact" -> o.pretty = false;
+                case "metrics" -> o.metricsPath = value;
+                case "no-metrics" -> o.metrics = false;
+                case "cache" -> o.cachePath = value.isEmpty() ? "results/.cache" : value;
+                case "cache-max-mb" -> o.cacheMaxBytes = (long) positive(key, value) << 20;
+                case "port" -> o.port = positive(key, value);
+                case "out" -> {
+                    if (value.isEmpty()) throw new IllegalArgumentException("--out expects a directory");
+                    o.outDir = value;
+                }
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (o.inFlight < 0) o.inFlight = 2 * o.workers;
+        return o;
+    }
+
+    private static int positive(String key, String value) {
+        int v;
+        try {
+            v = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + key + " expects a number, got: " + value);
+        }
+        if (v < 1) throw new IllegalArgumentException("--" + key + " must be at least 1");
+        return v;
+    }
+
+    public String inputPath() { return inputPath; }
+    public String sccEngine() { return sccEngine; }
+    public int sccThreads() { return sccThreads; }
+    public String topoEngine() { return topoEngine; }
+    public int topoThreads() { return topoThreads; }
+    public boolean reduce() { return reduce; }
+    /** Workers for the list schedule; 0 if scheduling was not requested. */
+    public int scheduleWorkers() { return scheduleWorkers; }
+    public int topPaths() { return topPaths; }
+    /** Vertex relabeling applied before the analysis, or {@code null} for none. */
+    public Relabeling.Strategy reorder() { return reorder; }
+    public int workers() { return workers; }
+    public int inFlight() { return inFlight; }
+    public boolean pretty() { return pretty; }
+    public String metricsPath() { return metricsPath; }
+    public boolean metricsEnabled() { return metrics; }
+    /** Cache directory, or {@code null} without {@code --cache}. */
+    public String cachePath() { return cachePath; }
+    public long cacheMaxBytes() { return cacheMaxBytes; }
+    /** Query server port; 0 to answer on stdin. */
+    public int port() { return port; }
+    /** Output directory of {@link BatchRunner}. */
+    public String outDir() { return outDir; }
+
+    public PerformanceTracker newTracker() {
+        return metrics ? new PerformanceTracker() : PerformanceTracker.noop();
+    }
+}
@@ -0,0 +1,214 @@
+package org.example.cli;
+
+import org.example.graph.dagsp.CriticalPathScheduler;
+import org.example.graph.dagsp.DAGPaths;
+import org.example.graph.scc.SccAlgorithm;
+import org.example.graph.topo.Condensation;
+import org.example.graph.topo.CondensationBuilder;
+import org.example.graph.topo.KahnTopoSort;
+import org.example.graph.topo.ParallelTopoSort;
+import org.example.graph.topo.TransitiveReduction;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.example.model.Edge;
+import org.example.model.Relabeling;
+import java.util.*;
+
+/**
+ * SCC, topological order and DAG paths for one input graph, as the three JSON result
+ * objects the CLI writes. Each call uses its own trackers, so independent graphs can be
+ * analysed on different threads.
+ */
+public class GraphAnalysis {
+    public final int graphId;
+    public final int n;
+    public final Map<String, Object> scc;
+    public final Map<String, Object> topo;
+    public final Map<String, Object> dag;
+    public final PerformanceTracker sccMetrics;
+    public final PerformanceTracker topoMetrics;
+    public final PerformanceTracker dagMetrics;
+    /** Served by a {@link ResultCache}; the trackers are then {@code null}. */
+    public final boolean cached;
+
+    private GraphAnalysis(int graphId, int n, Map<String, Object> scc, Map<String, Object> topo,
+                          Map<String, Object> dag, PerformanceTracker sccMetrics, PerformanceTracker topoMetrics,
+                          PerformanceTracker dagMetrics, boolean cached) {
+        this.graphId = graphId;
+        this.n = n;
+        this.scc = scc;
+        this.topo = topo;
+        this.dag = dag;
+        this.sccMetrics = sccMetrics;
+        this.topoMetrics = topoMetrics;
+        this.dagMetrics = dagMetrics;
+        this.cached = cached;
+    }
+
+    static GraphAnalysis cached(int graphId, int n, Map<String, Object> scc, Map<String, Object> topo,
+                                Map<String, Object> dag) {
+        return new GraphAnalysis(graphId, n, scc, topo, dag, null, null, null, true);
+    }
+
+    public static GraphAnalysis run(int graphId, CsrGraph graph, CliOptions options) {
+        PerformanceTracker mScc = options.newTracker();
+        // Everything past the SCC step works on component ids, so only the components'
+        // vertex lists need mapping back.
+        Relabeling relabeling = null;
+        CsrGraph analysed = graph;
+        if (options.reorder() != null) {
+            try (PerformanceTracker.Phase _ = mScc.phase("reorder")) {
+                relabeling = Relabeling.of(options.reorder(), graph);
+                analysed = relabeling.apply(graph);
+            }
+        }
+        SccAlgorithm scc = SccAlgorithm.create(options.sccEngine(), analysed, mScc, options.sccThreads());
+        scc.run();
+
+        Condensation condensation = CondensationBuilder.buildWeighted(analysed, scc.getComponentIds(), scc.count());
+        CsrGraph dag = condensation.minDag();
+        var dagEdges = CondensationBuilder.edgesAsList(dag);
+
+        List<List<Integer>> comps = relabeling == null ? scc.getComponents()
+                : relabeling.toOriginal(scc.getComponents());
+        List<Map<String, Object>> compList = new ArrayList<>();
+        for (int i = 0; i < comps.size(); i++) {
+            compList.add(Map.of(
+                    "id", i,
+                    "vertices", comps.get(i),
+                    "size", comps.get(i).size()
+            ));
+        }
+
+        Map<String, Object> sccResult = new LinkedHashMap<>();
+        sccResult.put("graph_id", graphId);
+        sccResult.put("n", graph.size());
+        sccResult.put("engine", options.sccEngine());
+        sccResult.put("components", compList);
+        sccResult.put("condensation_edges", dagEdges);
+        sccResult.put("metrics", Map.of(
+                "dfsVisits", mScc.getDfsVisits(),
+                "edgesExplored", mScc.getEdgesExplored(),
+                "time_ms", mScc.getTimeMs()
+        ));
+
+        PerformanceTracker mTopo = options.newTracker();
+        // Same reachability, so any order of the reduction is an order of the condensation.
+        CsrGraph sorted = options.reduce() ? new TransitiveReduction(dag, mTopo, options.topoThreads()).reduce() : dag;
+        int[] topoOrder;
+        int[] levels = null;
+        if (options.topoEngine().equals("parallel")) {
+            ParallelTopoSort topo = new ParallelTopoSort(sorted, mTopo, options.topoThreads());
+            topoOrder = topo.orderArray();
+            levels = topo.levels();
+        } else {
+            topoOrder = new KahnTopoSort(sorted, mTopo).orderArray();
+        }
+
+        List<Integer> derivedOrder = new ArrayList<>();
+        for (int compIndex : topoOrder) {
+            List<Integer> verts = comps.get(compIndex);
+            verts.sort(Comparator.naturalOrder());
+            derivedOrder.addAll(verts);
+        }
+
+        Map<String, Object> topoResult = new LinkedHashMap<>();
+        topoResult.put("graph_id", graphId);
+        topoResult.put("topo_order_components", topoOrder);
+        topoResult.put("derived_task_order", derivedOrder);
+        if (levels != null) topoResult.put("component_levels", levels);
+        if (options.reduce()) topoResult.put("reduced_edge_count", sorted.edgeCount());
+        topoResult.put("metrics", Map.of(
+                "pushes", mTopo.getPushes(),
+                "pops", mTopo.getPops(),
+                "time_ms", mTopo.getTimeMs()
+        ));
+
+        List<Edge> weightedEdges = dag.edges();
+
+        PerformanceTracker mDAG = options.newTracker();
+        DAGPaths dagPaths = new DAGPaths(dag, mDAG);
+        int source = topoOrder[0];
+        DAGPaths.Paths paths = dagPaths.shortestAndLongest(source, topoOrder);
+        var shortest = paths.shortest;
+        var longest = paths.longest;
+
+        int criticalNode = argMax(longest.dist);
+        double maxDist = longest.dist[criticalNode];
+        List<Integer> criticalPath = DAGPaths.reconstructPath(criticalNode, longest.parent);
+
+        // The critical path of the whole DAG starts at any root, not just the first one.
+        int[] roots = dagPaths.roots();
+        var fromRoots = dagPaths.longestPaths(roots, topoOrder);
+        int overallNode = argMax(fromRoots.dist);
+
+        Map<String, Object> dagResult = new LinkedHashMap<>();
+        dagResult.put("graph_id", graphId);
+        dagResult.put("edges", weightedEdges.stream()
+                .map(e -> Map.of("from", e.from(), "to", e.to(), "w", e.weight()))
+                .toList());
+        dagResult.put("source_component", source);
+        dagResult.put("shortest_paths", Map.of(
+                "distances", shortest.dist,
+                "path_to_last", DAGPaths.reconstructPath(
+                        topoOrder[topoOrder.length - 1], shortest.parent)
+        ));
+        dagResult.put("longest_paths", Map.of(
+                "distances", longest.dist,
+                "critical_length", maxDist,
+                "critical_path", criticalPath
+        ));
+        dagResult.put("all_roots", Map.of(
+                "roots", roots,
+                "critical_length", fromRoots.dist[overallNode],
+                "critical_path", DAGPaths.reconstructPath(overallNode, fromRoots.parent)
+        ));
+        if (options.scheduleWorkers() > 0) {
+            dagResult.put("scheduling", scheduling(condensation.maxDag(), comps, topoOrder, options, mDAG));
+        }
+        dagResult.put("metrics", Map.of(
+                "relaxations", mDAG.getRelaxations(),
+                "time_ms", mDAG.getTimeMs()
+        ));
+        return new GraphAnalysis(graphId, graph.size(), sccResult, topoResult, dagResult, mScc, mTopo, mDAG, false);
+    }
+
+    // Components are tasks that take one unit per vertex; a condensation edge delays its
+    // head by the heaviest original edge between the two components.
+    private static Map<String, Object> scheduling(CsrGraph lags, List<List<Integer>> comps, int[] topoOrder,
+                                                  CliOptions options, PerformanceTracker metrics) {
+        double[] durations = new double[comps.size()];
+        for (int c = 0; c < durations.length; c++) durations[c] = comps.get(c).size();
+        CriticalPathScheduler cpm = new CriticalPathScheduler(lags, durations, metrics).run(topoOrder);
+
+        List<Map<String, Object>> top = new ArrayList<>();
+        for (CriticalPathScheduler.WeightedPath p : cpm.topPaths(options.topPaths())) {
+            top.add(Map.of("length", p.length, "path", p.nodes));
+        }
+        CriticalPathScheduler.Schedule schedule = cpm.schedule(options.scheduleWorkers());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("project_length", cpm.length());
+        result.put("critical_path", cpm.criticalPath());
+        result.put("critical_components", cpm.criticalNodes());
+        result.put("earliest_start", cpm.earliestStart());
+        result.put("latest_start", cpm.latestStart());
+        result.put("slack", cpm.slack());
+        result.put("top_paths", top);
+        result.put("list_schedule", Map.of(
+                "workers", schedule.workers,
+                "makespan", schedule.makespan,
+                "start", schedule.start,
+                "worker", schedule.worker
+        ));
+        return result;
+    }
+
+    private static int argMax(double[] values) {
+        int best = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[best]) best = i;
+        }
+        return best;
+    }
+}
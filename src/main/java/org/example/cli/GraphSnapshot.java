@@ -0,0 +1,181 @@
+package org.example.cli;
+
+import org.example.graph.dagsp.DAGPaths;
+import org.example.graph.scc.SccAlgorithm;
+import org.example.graph.topo.CondensationBuilder;
+import org.example.graph.topo.KahnTopoSort;
+import org.example.graph.topo.ReachabilityIndex;
+import org.example.graph.topo.TransitiveReduction;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.example.model.Relabeling;
+import java.util.*;
+
+/**
+ * One graph prepared for queries: component ids, the condensation and a topological order
+ * are computed once, after which the snapshot is immutable and safe to query from any
+ * number of threads. Each thread keeps its own scratch arrays, reset by bumping an epoch,
+ * so a query only touches the part of the condensation it explores.
+ * <p>
+ * Reachability and distances are answered on the condensation: {@code u} reaches {@code v}
+ * iff {@code u}'s component reaches {@code v}'s, which a {@link ReachabilityIndex} decides,
+ * and distances and paths are those between the two components on the minimum-weight
+ * condensation, as in the DAG result.
+ */
+public class GraphSnapshot {
+    public final int graphId;
+    private final CsrGraph graph;
+    private final int[] compId;
+    private final CsrGraph dag;
+    private final int[] topoOrder;
+    private final int[] position;
+    private final ReachabilityIndex reachability;
+    private final double criticalLength;
+    private final List<Integer> criticalPath;
+    private final ThreadLocal<Scratch> scratch;
+
+    private GraphSnapshot(int graphId, CsrGraph graph, int[] compId, CsrGraph dag, CsrGraph reachDag,
+                          int[] topoOrder, double criticalLength, List<Integer> criticalPath) {
+        this.graphId = graphId;
+        this.graph = graph;
+        this.compId = compId;
+        this.dag = dag;
+        this.topoOrder = topoOrder;
+        this.position = new int[topoOrder.length];
+        for (int i = 0; i < topoOrder.length; i++) position[topoOrder[i]] = i;
+        this.reachability = new ReachabilityIndex(reachDag, topoOrder, PerformanceTracker.noop());
+        this.criticalLength = criticalLength;
+        this.criticalPath = List.copyOf(criticalPath);
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(dag.size()));
+    }
+
+    public static GraphSnapshot build(int graphId, CsrGraph graph, CliOptions options) {
+        PerformanceTracker metrics = PerformanceTracker.noop();
+        Relabeling relabeling = options.reorder() == null ? null : Relabeling.of(options.reorder(), graph);
+        CsrGraph analysed = relabeling == null ? graph : relabeling.apply(graph);
+        SccAlgorithm scc = SccAlgorithm.create(options.sccEngine(), analysed, metrics, options.sccThreads());
+        scc.run();
+        int[] ids = scc.getComponentIds();
+        CsrGraph dag = CondensationBuilder.buildWeighted(analysed, ids, scc.count()).minDag();
+        if (relabeling != null) ids = relabeling.toOriginal(ids);
+        int[] order = new KahnTopoSort(dag, metrics).orderArray();
+
+        DAGPaths paths = new DAGPaths(dag, metrics);
+        DAGPaths.Result fromRoots = paths.longestPaths(paths.roots(), order);
+        int last = 0;
+        for (int c = 1; c < fromRoots.dist.length; c++) {
+            if (fromRoots.dist[c] > fromRoots.dist[last]) last = c;
+        }
+        // The reduction has the same reachability, with fewer edges for the index to walk.
+        CsrGraph reachDag = options.reduce()
+                ? new TransitiveReduction(dag, metrics, options.topoThreads()).reduce() : dag;
+        return new GraphSnapshot(graphId, graph, ids, dag, reachDag, order, fromRoots.dist[last],
+                DAGPaths.reconstructPath(last, fromRoots.parent));
+    }
+
+    public int size() { return graph.size(); }
+    public int edgeCount() { return graph.edgeCount(); }
+    public int componentCount() { return dag.size(); }
+
+    public int componentOf(int v) {
+        checkVertex(v);
+        return compId[v];
+    }
+
+    public boolean sameComponent(int u, int v) {
+        return componentOf(u) == componentOf(v);
+    }
+
+    public boolean reachable(int u, int v) {
+        return reachability.reaches(componentOf(u), componentOf(v));
+    }
+
+    /** Shortest path from {@code u}'s component to {@code v}'s, or {@code null} if there is none. */
+    public Path shortest(int u, int v) {
+        return path(u, v, false);
+    }
+
+    /** Longest path from {@code u}'s component to {@code v}'s, or {@code null} if there is none. */
+    public Path longest(int u, int v) {
+        return path(u, v, true);
+    }
+
+    /** The longest path of the condensation starting at any root. */
+    public Path criticalPath() {
+        return new Path(criticalLength, criticalPath);
+    }
+
+    // DAGPaths' relaxation, restricted to the order range between the two components and to
+    // components already reached from the first.
+    private Path path(int u, int v, boolean longest) {
+        int from = componentOf(u);
+        int to = componentOf(v);
+        if (from == to) return new Path(0, List.of(from));
+        if (position[from] > position[to]) return null;
+
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        double[] weights = dag.weights();
+        Scratch s = scratch.get();
+        int epoch = s.next();
+        s.seen[from] = epoch;
+        s.dist[from] = 0;
+        s.parent[from] = -1;
+        for (int p = position[from]; p < position[to]; p++) {
+            int c = topoOrder[p];
+            if (s.seen[c] != epoch) continue;
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                int x = targets[i];
+                if (position[x] > position[to]) continue;
+                double cand = s.dist[c] + weights[i];
+                if (s.seen[x] != epoch || (longest ? cand > s.dist[x] : cand < s.dist[x])) {
+                    s.seen[x] = epoch;
+                    s.dist[x] = cand;
+                    s.parent[x] = c;
+                }
+            }
+        }
+        if (s.seen[to] != epoch) return null;
+        List<Integer> path = new ArrayList<>();
+        for (int c = to; c != -1; c = s.parent[c]) path.add(c);
+        Collections.reverse(path);
+        return new Path(s.dist[to], path);
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= compId.length)
+            throw new IllegalArgumentException("Vertex " + v + " out of range [0, " + compId.length + ")");
+    }
+
+    /** A path of components and its length. */
+    public static class Path {
+        public final double length;
+        public final List<Integer> components;
+
+        public Path(double length, List<Integer> components) {
+            this.length = length;
+            this.components = components;
+        }
+    }
+
+    private static final class Scratch {
+        final int[] seen;
+        final int[] parent;
+        final double[] dist;
+        int epoch;
+
+        Scratch(int n) {
+            seen = new int[n];
+            parent = new int[n];
+            dist = new double[n];
+        }
+
+        int next() {
+            if (++epoch == 0) {
+                Arrays.fill(seen, 0);
+                epoch = 1;
+            }
+            return epoch;
+        }
+    }
+}
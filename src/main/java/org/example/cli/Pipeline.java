@@ -0,0 +1,94 @@
+package org.example.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Three-stage pipeline: the calling thread pulls items from the source, a fixed pool of
+ * workers processes them together with their 1-based position, and a dedicated writer
+ * thread hands the results to the sink in source order. The stages are connected by one
+ * bounded queue of pending futures, so at most {@code capacity} items are in flight
+ * between reading and writing.
+ * <p>
+ * The first failure in any stage stops reading, cancels the remaining work and is
+ * rethrown from {@link #run}.
+ */
+public class Pipeline<T, R> {
+    public interface Stage<I, V> {
+        V apply(int position, I item);
+    }
+
+    public interface Sink<V> {
+        void accept(V result) throws IOException;
+    }
+
+    private final int workers;
+    private final int capacity;
+
+    public Pipeline(int workers, int capacity) {
+        if (workers < 1 || capacity < 1)
+            throw new IllegalArgumentException("Pipeline needs at least one worker and one slot");
+        this.workers = workers;
+        this.capacity = capacity;
+    }
+
+    public void run(Iterator<T> source, Stage<T, R> stage, Sink<R> sink) throws IOException, InterruptedException {
+        Future<R> end = CompletableFuture.completedFuture(null);
+        BlockingQueue<Future<R>> pending = new ArrayBlockingQueue<>(capacity);
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "graph-worker-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                for (Future<R> f = pending.take(); f != end; f = pending.take()) {
+                    if (failure.get() != null) {
+                        f.cancel(true);
+                        continue;
+                    }
+                    try {
+                        sink.accept(f.get());
+                    } catch (ExecutionException e) {
+                        failure.set(e.getCause());
+                    } catch (IOException | RuntimeException | Error e) {
+                        failure.set(e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "graph-writer");
+        writer.start();
+
+        Throwable readFailure = null;
+        try {
+            for (int position = 1; failure.get() == null && source.hasNext(); position++) {
+                T item = source.next();
+                int p = position;
+                pending.put(pool.submit(() -> stage.apply(p, item)));
+            }
+        } catch (RuntimeException | Error e) {
+            readFailure = e;
+        } finally {
+            pending.put(end);
+            writer.join();
+            pool.shutdownNow();
+        }
+
+        Throwable t = readFailure != null ? readFailure : failure.get();
+        if (t == null) return;
+        if (t instanceof UncheckedIOException u) throw u.getCause();
+        if (t instanceof IOException io) throw io;
+        if (t instanceof RuntimeException re) throw re;
+        if (t instanceof Error err) throw err;
+        throw new IllegalStateException("Pipeline stage failed", t);
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.cli;
+
+import org.example.io.GraphReader;
+import org.example.io.GraphSource;
+import org.example.model.CsrGraph;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-running query mode: loads every graph of the input once into a {@link GraphSnapshot}
+ * and then answers one query per line, from stdin or, with {@code --port=N}, from any
+ * number of connections to {@code localhost:N}. Takes the same options as
+ * {@link CliRunner}; log lines go to stderr so stdout carries only answers.
+ * <p>
+ * Queries, with graph ids as in the result files and original vertex ids:
+ * <pre>
+ * graphs                 ids of the loaded graphs
+ * info &lt;g&gt;               n, m and component count
+ * component &lt;g&gt; &lt;v&gt;      component id of v
+ * same &lt;g&gt; &lt;u&gt; &lt;v&gt;       true if u and v share a component
+ * reach &lt;g&gt; &lt;u&gt; &lt;v&gt;      true if u reaches v
+ * shortest &lt;g&gt; &lt;u&gt; &lt;v&gt;   length and component path, or "unreachable"
+ * longest &lt;g&gt; &lt;u&gt; &lt;v&gt;    length and component path, or "unreachable"
+ * critical &lt;g&gt;           length and component path of the critical path
+ * quit                   closes the connection
+ * </pre>
+ * Every query gets exactly one line back; malformed queries get {@code error: <reason>}.
+ */
+public class QueryServer {
+    private final Map<Integer, GraphSnapshot> graphs;
+
+    QueryServer(List<GraphSnapshot> snapshots) {
+        Map<Integer, GraphSnapshot> byId = new TreeMap<>();
+        for (GraphSnapshot s : snapshots) byId.put(s.graphId, s);
+        this.graphs = Collections.unmodifiableMap(byId);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        CliOptions options = CliOptions.parse(args);
+        System.err.println("Loading graphs from " + options.inputPath() + "...");
+        long start = System.nanoTime();
+        QueryServer server = load(options);
+        System.err.printf("Loaded %d graphs in %.1f ms.%n", server.graphs.size(), (System.nanoTime() - start) / 1e6);
+
+        if (options.port() > 0) {
+            server.listen(options.port());
+        } else {
+            server.serve(new InputStreamReader(System.in, StandardCharsets.UTF_8),
+                    new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        }
+    }
+
+    /** Builds the snapshots on {@code --workers} threads. */
+    public static QueryServer load(CliOptions options) throws IOException, InterruptedException {
+        List<GraphSnapshot> snapshots = new ArrayList<>();
+        Pipeline<CsrGraph, GraphSnapshot> pipeline = new Pipeline<>(options.workers(), options.inFlight());
+        try (GraphSource source = GraphReader.open(options.inputPath())) {
+            pipeline.run(source, (graphId, g) -> GraphSnapshot.build(graphId, g, options), snapshots::add);
+        }
+        return new QueryServer(snapshots);
+    }
+
+    /** Answers queries from {@code in} until it ends or sends {@code quit}. */
+    public void serve(Reader in, Writer out) throws IOException {
+        BufferedReader reader = new BufferedReader(in);
+        BufferedWriter writer = new BufferedWriter(out);
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (line.trim().equals("quit")) break;
+            writer.write(answer(line));
+            writer.newLine();
+            // Flush only once the client has no more queries queued up.
+            if (!reader.ready()) writer.flush();
+        }
+        writer.flush();
+    }
+
+    /** Serves every connection to {@code localhost:port} on its own thread, until killed. */
+    public void listen(int port) throws IOException {
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService pool = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "query-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            System.err.println("Listening on " + server.getLocalSocketAddress());
+            while (true) {
+                Socket socket = server.accept();
+                pool.execute(() -> {
+                    try (socket) {
+                        socket.setTcpNoDelay(true);
+                        serve(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8),
+                                new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                    } catch (IOException e) {
+                        System.err.println("Connection " + socket.getRemoteSocketAddress()
+                                + " failed: " + e.getMessage());
+                    }
+                });
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public String answer(String query) {
+        String[] words = query.trim().split("\\s+");
+        try {
+            return switch (words[0]) {
+                case "graphs" -> {
+                    arity(words, 0);
+                    StringJoiner ids = new StringJoiner(" ");
+                    for (int id : graphs.keySet()) ids.add(Integer.toString(id));
+                    yield ids.toString();
+                }
+                case "info" -> {
+                    GraphSnapshot g = graph(words, 1);
+                    yield "n=" + g.size() + " m=" + g.edgeCount() + " components=" + g.componentCount();
+                }
+                case "component" -> Integer.toString(graph(words, 2).componentOf(vertex(words[2])));
+                case "same" -> Boolean.toString(graph(words, 3).sameComponent(vertex(words[2]), vertex(words[3])));
+                case "reach" -> Boolean.toString(graph(words, 3).reachable(vertex(words[2]), vertex(words[3])));
+                case "shortest" -> format(graph(words, 3).shortest(vertex(words[2]), vertex(words[3])));
+                case "longest" -> format(graph(words, 3).longest(vertex(words[2]), vertex(words[3])));
+                case "critical" -> format(graph(words, 1).criticalPath());
+                case "" -> throw new IllegalArgumentException("empty query");
+                default -> throw new IllegalArgumentException("unknown query \"" + words[0] + "\"");
+            };
+        } catch (IllegalArgumentException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    private static String format(GraphSnapshot.Path path) {
+        if (path == null) return "unreachable";
+        StringBuilder sb = new StringBuilder().append(path.length);
+        for (int c : path.components) sb.append(' ').append(c);
+        return sb.toString();
+    }
+
+    private GraphSnapshot graph(String[] words, int args) {
+        arity(words, args);
+        GraphSnapshot g = graphs.get(number(words[1], "graph id"));
+        if (g == null) throw new IllegalArgumentException("no graph " + words[1]);
+        return g;
+    }
+
+    private static int vertex(String word) {
+        return number(word, "vertex");
+    }
+
+    private static void arity(String[] words, int args) {
+        if (words.length != args + 1)
+            throw new IllegalArgumentException(words[0] + " expects " + args + " arguments, got " + (words.length - 1));
+    }
+
+    private static int number(String word, String what) {
+        try {
+            return Integer.parseInt(word);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("expected a " + what + ", got \"" + word + "\"");
+        }
+    }
+}
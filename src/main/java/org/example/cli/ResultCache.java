@@ -0,0 +1,169 @@
+package org.example.cli;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.CsrGraph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of {@link GraphAnalysis} results, one JSON file per graph. The file name
+ * combines {@link CsrGraph#contentHash()} with a hash of everything else that shapes the
+ * output: {@link #VERSION} and the analysis options. Bump {@link #VERSION} whenever an
+ * analysis changes its results.
+ * <p>
+ * A hit's sections carry {@code "cached": true} instead of the stored run's
+ * {@code metrics}, which were not measured in this run.
+ * <p>
+ * Entries are evicted least recently used first once the directory exceeds its byte cap.
+ * A hit refreshes the file's modification time, so the order survives across runs. Entries
+ * that cannot be read are dropped and recomputed. Only files named like entries are
+ * counted or evicted, so other files in the directory are left alone.
+ */
+public class ResultCache {
+    static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> ENTRY = new TypeReference<>() {};
+    private static final String SUFFIX = ".json";
+    // <content hash>-<options hash>.json, as written by computeIfAbsent.
+    private static final Pattern ENTRY_NAME = Pattern.compile("[0-9a-f]{16}-[0-9a-f]{8}\\.json");
+
+    private final Path dir;
+    private final long maxBytes;
+    private final String variant;
+
+    // File name -> size, iterated least recently used first.
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private int hits;
+    private int misses;
+
+    public ResultCache(Path dir, long maxBytes, CliOptions options) throws IOException {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        String fingerprint = VERSION + "|" + options.sccEngine() + "|" + options.topoEngine() + "|"
+                + options.reduce() + "|" + options.scheduleWorkers() + "|" + options.topPaths() + "|"
+                + options.metricsEnabled() + "|" + options.reorder();
+        this.variant = String.format("%08x", fingerprint.hashCode());
+
+        Files.createDirectories(dir);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(p -> ENTRY_NAME.matcher(p.getFileName().toString()).matches()).toList();
+        }
+        Map<Path, FileTime> touched = new HashMap<>();
+        for (Path p : files) touched.put(p, Files.getLastModifiedTime(p));
+        List<Path> byAge = new ArrayList<>(files);
+        byAge.sort(Comparator.comparing(touched::get));
+        for (Path p : byAge) {
+            long size = Files.size(p);
+            entries.put(p.getFileName().toString(), size);
+            totalBytes += size;
+        }
+    }
+
+    /**
+     * Returns the cached result for {@code graph}, renumbered to {@code graphId}, or runs
+     * {@code compute} and stores its result.
+     */
+    public GraphAnalysis computeIfAbsent(int graphId, CsrGraph graph, Pipeline.Stage<CsrGraph, GraphAnalysis> compute) {
+        String name = String.format("%016x-%s%s", graph.contentHash(), variant, SUFFIX);
+        GraphAnalysis cached = read(name, graphId, graph);
+        if (cached != null) return cached;
+
+        GraphAnalysis result = compute.apply(graphId, graph);
+        try {
+            write(name, graph, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    public synchronized int hits() { return hits; }
+    public synchronized int misses() { return misses; }
+
+    private GraphAnalysis read(String name, int graphId, CsrGraph graph) {
+        synchronized (this) {
+            // get, not containsKey: it moves the entry to the recently used end.
+            if (entries.get(name) == null) {
+                misses++;
+                return null;
+            }
+        }
+        Path file = dir.resolve(name);
+        try {
+            Map<String, Object> entry = MAPPER.readValue(file.toFile(), ENTRY);
+            // Guards against hash collisions between graphs of different shape.
+            if (!Objects.equals(entry.get("n"), graph.size()) || !Objects.equals(entry.get("m"), graph.edgeCount()))
+                throw new IOException("Cache entry " + name + " belongs to another graph");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            synchronized (this) {
+                hits++;
+            }
+            return GraphAnalysis.cached(graphId, graph.size(), section(entry, "scc", graphId),
+                    section(entry, "topo", graphId), section(entry, "dag", graphId));
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                Long size = entries.remove(name);
+                if (size != null) totalBytes -= size;
+                misses++;
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Another writer may recreate it; the next lookup will tell.
+            }
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> section(Map<String, Object> entry, String key, int graphId) {
+        Map<String, Object> section = (Map<String, Object>) entry.get(key);
+        if (section == null) throw new IllegalStateException("Cache entry without \"" + key + "\"");
+        section.put("graph_id", graphId);
+        section.remove("metrics");
+        section.put("cached", true);
+        return section;
+    }
+
+    private void write(String name, CsrGraph graph, GraphAnalysis result) throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("n", graph.size());
+        entry.put("m", graph.edgeCount());
+        entry.put("scc", result.scc);
+        entry.put("topo", result.topo);
+        entry.put("dag", result.dag);
+
+        Path tmp = Files.createTempFile(dir, "entry", ".tmp");
+        try {
+            MAPPER.writeValue(tmp.toFile(), entry);
+            Files.move(tmp, dir.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        long size = Files.size(dir.resolve(name));
+
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long old = entries.put(name, size);
+            totalBytes += size - (old == null ? 0 : old);
+            Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && entries.size() > 1) {
+                Map.Entry<String, Long> eldest = it.next();
+                totalBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (String e : evicted) Files.deleteIfExists(dir.resolve(e));
+    }
+}
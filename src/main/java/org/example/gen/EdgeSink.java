@@ -0,0 +1,11 @@
+package org.example.gen;
+
+import java.io.IOException;
+
+/**
+ * Receives generated edges one at a time, in generation order.
+ */
+@FunctionalInterface
+public interface EdgeSink {
+    void edge(int u, int v, double w) throws IOException;
+}
@@ -0,0 +1,198 @@
+package org.example.gen;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic graph families. For fixed {@code (n, m, seed)} every family emits exactly the
+ * same edge sequence of exactly {@code m} edges, with integer weights in {@code [1, 10]}.
+ * Parallel edges may occur; self-loops do not. Nothing is buffered, so the edge count is
+ * limited only by the consumer.
+ */
+public enum GraphFamily {
+    /** G(n, m): every edge has uniform random endpoints; self-loops are redrawn. */
+    ERDOS_RENYI("er") {
+        @Override
+        void emit(int n, long m, SplittableRandom rnd, EdgeSink sink) throws IOException {
+            for (long i = 0; i < m; i++) {
+                int u = rnd.nextInt(n);
+                int v = rnd.nextInt(n);
+                while (v == u && n > 1) v = rnd.nextInt(n);
+                sink.edge(u, v, weight(rnd));
+            }
+        }
+    },
+    /**
+     * R-MAT with the Graph500 quadrant probabilities (0.57, 0.19, 0.19, 0.05): a skewed,
+     * power-law degree distribution with small-world structure. Endpoints outside
+     * {@code [0, n)} are redrawn.
+     */
+    RMAT("rmat") {
+        @Override
+        void emit(int n, long m, SplittableRandom rnd, EdgeSink sink) throws IOException {
+            int scale = 32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 1));
+            for (long i = 0; i < m; ) {
+                int u = 0, v = 0;
+                for (int bit = scale - 1; bit >= 0; bit--) {
+                    double p = rnd.nextDouble();
+                    if (p >= 0.57) {
+                        if (p < 0.76) v |= 1 << bit;
+                        else if (p < 0.95) u |= 1 << bit;
+                        else {
+                            u |= 1 << bit;
+                            v |= 1 << bit;
+                        }
+                    }
+                }
+                if (u >= n || v >= n || u == v) continue;
+                sink.edge(u, v, weight(rnd));
+                i++;
+            }
+        }
+    },
+    /**
+     * Vertices split into {@value #LAYERS} layers with edges only towards the next few
+     * layers, so the graph is acyclic except for planted rings: each layer is cut into
+     * blocks of {@value #PLANTED_SCC} vertices that form a directed cycle. The SCCs are
+     * therefore exactly those blocks, and the condensation is a layered DAG.
+     */
+    LAYERED_DAG("layered") {
+        @Override
+        void emit(int n, long m, SplittableRandom rnd, EdgeSink sink) throws IOException {
+            int layers = Math.min(LAYERS, n);
+            long emitted = 0;
+            for (int layer = 0; layer < layers && emitted < m; layer++) {
+                int start = layerStart(n, layers, layer);
+                int end = layerStart(n, layers, layer + 1);
+                for (int b = start; b < end && emitted < m; b += PLANTED_SCC) {
+                    int size = Math.min(PLANTED_SCC, end - b);
+                    for (int k = 0; size > 1 && k < size && emitted < m; k++, emitted++) {
+                        sink.edge(b + k, b + (k + 1) % size, weight(rnd));
+                    }
+                }
+            }
+            int lastStart = layerStart(n, layers, layers - 1);
+            for (; emitted < m; emitted++) {
+                int u = rnd.nextInt(lastStart);
+                int layer = layerOf(n, layers, u);
+                int to = Math.min(layers - 1, layer + 1 + rnd.nextInt(3));
+                int start = layerStart(n, layers, to);
+                int v = start + rnd.nextInt(layerStart(n, layers, to + 1) - start);
+                sink.edge(u, v, weight(rnd));
+            }
+        }
+    },
+    /**
+     * A Hamiltonian path {@code 0 -> 1 -> ... -> n-1} plus forward jumps of at most
+     * {@value #MAX_JUMP} vertices: a DAG whose DFS depth and longest path span every vertex
+     * once {@code m >= n - 1}.
+     */
+    DEEP_CHAIN("chain") {
+        @Override
+        void emit(int n, long m, SplittableRandom rnd, EdgeSink sink) throws IOException {
+            long emitted = 0;
+            for (int v = 0; v + 1 < n && emitted < m; v++, emitted++) {
+                sink.edge(v, v + 1, weight(rnd));
+            }
+            for (; emitted < m; emitted++) {
+                int u = rnd.nextInt(n - 1);
+                int v = u + 1 + rnd.nextInt(Math.min(MAX_JUMP, n - u - 1));
+                sink.edge(u, v, weight(rnd));
+            }
+        }
+    },
+    /**
+     * A Hamiltonian cycle {@code 0 -> 1 -> ... -> n-1 -> 0} plus uniform random chords: a
+     * single component holding every vertex once {@code m >= n}. Self-loops are redrawn.
+     */
+    GIANT_SCC("giant") {
+        @Override
+        void emit(int n, long m, SplittableRandom rnd, EdgeSink sink) throws IOException {
+            long emitted = 0;
+            for (int v = 0; v < n && emitted < m; v++, emitted++) {
+                sink.edge(v, (v + 1) % n, weight(rnd));
+            }
+            for (; emitted < m; emitted++) {
+                int u = rnd.nextInt(n);
+                int v = rnd.nextInt(n);
+                while (v == u) v = rnd.nextInt(n);
+                sink.edge(u, v, weight(rnd));
+            }
+        }
+    },
+    /**
+     * Directed triangles {@code 3t -> 3t+1 -> 3t+2 -> 3t} joined by random edges from a
+     * lower to a higher vertex in another triangle: the SCCs are the triangles and the
+     * vertices left over, and the condensation is a DAG. At least one vertex stays outside
+     * the triangles, so the joining edges always have somewhere to go.
+     */
+    TINY_SCCS("triangles") {
+        @Override
+        void emit(int n, long m, SplittableRandom rnd, EdgeSink sink) throws IOException {
+            int triangles = (n - 1) / 3;
+            long emitted = 0;
+            for (int t = 0; t < triangles && emitted < m; t++) {
+                for (int k = 0; k < 3 && emitted < m; k++, emitted++) {
+                    sink.edge(3 * t + k, 3 * t + (k + 1) % 3, weight(rnd));
+                }
+            }
+            for (; emitted < m; emitted++) {
+                int u = rnd.nextInt(n);
+                int v = rnd.nextInt(n);
+                while (u == v || (u / 3 == v / 3 && Math.max(u, v) < 3 * triangles)) {
+                    u = rnd.nextInt(n);
+                    v = rnd.nextInt(n);
+                }
+                sink.edge(Math.min(u, v), Math.max(u, v), weight(rnd));
+            }
+        }
+    };
+
+    static final int LAYERS = 64;
+    static final int PLANTED_SCC = 8;
+    static final int MAX_JUMP = 16;
+
+    private final String key;
+
+    GraphFamily(String key) {
+        this.key = key;
+    }
+
+    public String key() { return key; }
+
+    public static GraphFamily of(String key) {
+        for (GraphFamily f : values()) {
+            if (f.key.equals(key)) return f;
+        }
+        List<String> keys = new ArrayList<>();
+        for (GraphFamily f : values()) keys.add(f.key);
+        throw new IllegalArgumentException("Unknown graph family: " + key + " (expected one of " + keys + ")");
+    }
+
+    public void generate(int n, long m, long seed, EdgeSink sink) throws IOException {
+        if (n < 1) throw new IllegalArgumentException("A graph needs at least one vertex");
+        if (m < 0) throw new IllegalArgumentException("Negative edge count");
+        if (n == 1 && m > 0)
+            throw new IllegalArgumentException("Cannot place edges without self-loops on one vertex");
+        emit(n, m, new SplittableRandom(seed), sink);
+    }
+
+    abstract void emit(int n, long m, SplittableRandom rnd, EdgeSink sink) throws IOException;
+
+    private static double weight(SplittableRandom rnd) {
+        return 1 + rnd.nextInt(10);
+    }
+
+    private static int layerStart(int n, int layers, int layer) {
+        return (int) ((long) n * layer / layers);
+    }
+
+    private static int layerOf(int n, int layers, int v) {
+        int layer = (int) (((long) v * layers + layers - 1) / n);
+        while (layerStart(n, layers, layer) > v) layer--;
+        while (layerStart(n, layers, layer + 1) <= v) layer++;
+        return layer;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.gen;
+
+import org.example.io.BinaryGraphWriter;
+import org.example.io.GraphReader;
+import org.example.io.JsonGraphWriter;
+import org.example.model.CsrGraph;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes seeded synthetic graphs for scale testing.
+ * <pre>
+ * java org.example.gen.GraphGen &lt;output.json|output.csrg&gt;
+ *     [--family=er|rmat|layered|chain|giant|triangles] [--n=1000000] [--m=10000000]
+ *     [--seed=42] [--graphs=1]
+ * </pre>
+ * Graph {@code i} of a file uses seed {@code seed + i}. JSON output is streamed edge by edge
+ * in constant memory; binary output has to collect each graph into CSR arrays first
+ * (about 28 bytes per edge).
+ */
+public class GraphGen {
+    public static void main(String[] args) throws IOException {
+        String out = null;
+        GraphFamily family = GraphFamily.ERDOS_RENYI;
+        int n = 1_000_000;
+        long m = 10_000_000L;
+        long seed = 42L;
+        int graphs = 1;
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                out = arg;
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("Option needs a value: " + arg);
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "family" -> family = GraphFamily.of(value);
+                case "n" -> n = Integer.parseInt(value);
+                case "m" -> m = Long.parseLong(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "graphs" -> graphs = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (out == null) throw new IllegalArgumentException("Missing output file");
+        if (m > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("At most " + (Integer.MAX_VALUE - 8) + " edges per graph");
+
+        long start = System.nanoTime();
+        if (out.endsWith(GraphReader.BINARY_EXTENSION)) {
+            writeBinary(Path.of(out), family, n, m, seed, graphs);
+        } else {
+            writeJson(out, family, n, m, seed, graphs);
+        }
+        System.out.printf("Wrote %d %s graph(s), %,d vertices and %,d edges each, to %s in %.1f s%n",
+                graphs, family.key(), n, m, out, (System.nanoTime() - start) / 1e9);
+    }
+
+    public static void writeJson(String path, GraphFamily family, int n, long m, long seed, int graphs)
+            throws IOException {
+        try (JsonGraphWriter w = new JsonGraphWriter(path)) {
+            for (int i = 0; i < graphs; i++) {
+                w.beginGraph(n);
+                family.generate(n, m, seed + i, w::edge);
+                w.endGraph();
+            }
+        }
+    }
+
+    public static void writeBinary(Path path, GraphFamily family, int n, long m, long seed, int graphs)
+            throws IOException {
+        try (BinaryGraphWriter w = new BinaryGraphWriter(path)) {
+            for (int i = 0; i < graphs; i++) {
+                w.write(generate(family, n, m, seed + i));
+            }
+        }
+    }
+
+    public static CsrGraph generate(GraphFamily family, int n, long m, long seed) throws IOException {
+        if (m > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Too many edges for a CSR graph: " + m);
+        CsrGraph.Builder b = new CsrGraph.Builder(n, (int) m);
+        family.generate(n, m, seed, b::addEdge);
+        return b.build();
+    }
+}
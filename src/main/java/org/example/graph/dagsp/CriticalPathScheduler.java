@@ -0,0 +1,340 @@
+package org.example.graph.dagsp;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import java.util.*;
+
+/**
+ * Critical-path analysis and list scheduling over a DAG whose nodes are tasks. Node
+ * {@code v} takes {@code durations[v]}; an edge {@code u -> v} of weight {@code w} lets
+ * {@code v} start no earlier than {@code w} after {@code u} finishes. With zero durations
+ * the earliest starts are exactly {@link DAGPaths#longestPaths(int[], int[])} from the roots.
+ * <p>
+ * {@link #run(int[])} computes the earliest and latest start of every node, its slack and
+ * the project length. Each duration is folded into the node's out-edges, so the forward
+ * pass is the plain {@code DAGPaths} relaxation; the backward pass computes the longest
+ * tail from every node to the end of the project, which {@link #schedule(int)} uses as
+ * priority. {@link #topPaths(int)} ranks whole root-to-sink paths.
+ */
+public class CriticalPathScheduler {
+    private final CsrGraph dag;
+    private final double[] durations;
+    private final PerformanceTracker metrics;
+
+    private int[] topoOrder;
+    private double[] shifted;
+    private double[] earliest;
+    private double[] latest;
+    private double[] tail;
+    private int[] parent;
+    private double length;
+
+    public CriticalPathScheduler(CsrGraph dag, double[] durations, PerformanceTracker metrics) {
+        if (durations.length != dag.size())
+            throw new IllegalArgumentException("Expected one duration per node, got " + durations.length);
+        this.dag = dag;
+        this.durations = durations;
+        this.metrics = metrics;
+    }
+
+    /** Forward and backward pass over a complete topological order of the DAG. */
+    public CriticalPathScheduler run(int[] topoOrder) {
+        int n = dag.size();
+        if (topoOrder.length != n) throw new IllegalArgumentException("Graph is not a DAG");
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        double[] weights = dag.weights();
+        this.topoOrder = topoOrder;
+
+        shifted = new double[weights.length];
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) shifted[i] = weights[i] + durations[u];
+        }
+        DAGPaths paths = new DAGPaths(new CsrGraph(n, offsets, targets, shifted), metrics);
+        DAGPaths.Result forward = paths.longestPaths(paths.roots(), topoOrder);
+        earliest = forward.dist;
+        parent = forward.parent;
+
+        metrics.startTimer();
+        long relaxed = 0;
+        // tail[u]: time from u's start until everything reachable from u has finished.
+        tail = new double[n];
+        length = 0;
+        for (int t = n - 1; t >= 0; t--) {
+            int u = topoOrder[t];
+            double best = durations[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                double cand = shifted[i] + tail[targets[i]];
+                if (cand > best) best = cand;
+            }
+            relaxed += offsets[u + 1] - offsets[u];
+            tail[u] = best;
+            if (earliest[u] + durations[u] > length) length = earliest[u] + durations[u];
+        }
+        latest = new double[n];
+        for (int v = 0; v < n; v++) latest[v] = length - tail[v];
+        metrics.addRelaxations(relaxed);
+        metrics.stopTimer();
+        return this;
+    }
+
+    /** Finish time of the last task when every task starts as early as possible. */
+    public double length() { return length; }
+    public double[] earliestStart() { return earliest; }
+    public double[] latestStart() { return latest; }
+
+    public double[] slack() {
+        double[] slack = new double[latest.length];
+        for (int v = 0; v < slack.length; v++) slack[v] = latest[v] - earliest[v];
+        return slack;
+    }
+
+    /** Nodes whose slack is zero up to rounding, in ascending order. */
+    public int[] criticalNodes() {
+        double eps = 1e-9 * Math.max(1.0, Math.abs(length));
+        int count = 0;
+        int[] nodes = new int[latest.length];
+        for (int v = 0; v < latest.length; v++) {
+            if (latest[v] - earliest[v] <= eps) nodes[count++] = v;
+        }
+        return Arrays.copyOf(nodes, count);
+    }
+
+    /** One chain of tasks that finishes at {@link #length()}. */
+    public List<Integer> criticalPath() {
+        int last = 0;
+        for (int v = 1; v < earliest.length; v++) {
+            if (earliest[v] + durations[v] > earliest[last] + durations[last]) last = v;
+        }
+        return DAGPaths.reconstructPath(last, parent);
+    }
+
+    /**
+     * The {@code k} longest root-to-sink paths, longest first; a path's length is the finish
+     * of its last task when each task starts right after its predecessor on the path.
+     * A sweep in reverse topological order keeps the {@code k} best completions of every
+     * node as (value, out-edge, rank in the successor's list), so it takes O(k(V + E)) time
+     * and k values per node.
+     */
+    public List<WeightedPath> topPaths(int k) {
+        if (k < 1) throw new IllegalArgumentException("k must be at least 1");
+        int n = dag.size();
+        if ((long) n * k > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("k too large for " + n + " nodes");
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+
+        double[] value = new double[n * k];
+        int[] edge = new int[n * k];
+        int[] rank = new int[n * k];
+        int[] count = new int[n];
+        for (int t = n - 1; t >= 0; t--) {
+            int u = topoOrder[t];
+            int base = u * k;
+            if (offsets[u] == offsets[u + 1]) {
+                value[base] = durations[u];
+                edge[base] = -1;
+                count[u] = 1;
+                continue;
+            }
+            int c = 0;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int x = targets[i];
+                for (int j = 0; j < count[x]; j++) {
+                    double cand = shifted[i] + value[x * k + j];
+                    // The successor's list is sorted, so nothing further can enter a full list.
+                    if (c == k && cand <= value[base + k - 1]) break;
+                    c = insert(value, edge, rank, base, c, k, cand, i, j);
+                }
+            }
+            count[u] = c;
+        }
+
+        // Merge the roots' lists the same way, with the root in place of the out-edge.
+        boolean[] hasIn = new boolean[n];
+        for (int v : targets) hasIn[v] = true;
+        double[] bestValue = new double[k];
+        int[] bestRoot = new int[k];
+        int[] bestRank = new int[k];
+        int c = 0;
+        for (int r = 0; r < n; r++) {
+            if (hasIn[r]) continue;
+            for (int j = 0; j < count[r]; j++) {
+                double cand = value[r * k + j];
+                if (c == k && cand <= bestValue[k - 1]) break;
+                c = insert(bestValue, bestRoot, bestRank, 0, c, k, cand, r, j);
+            }
+        }
+
+        List<WeightedPath> result = new ArrayList<>(c);
+        for (int p = 0; p < c; p++) {
+            List<Integer> nodes = new ArrayList<>();
+            int u = bestRoot[p];
+            int j = bestRank[p];
+            while (true) {
+                nodes.add(u);
+                int i = edge[u * k + j];
+                if (i < 0) break;
+                j = rank[u * k + j];
+                u = targets[i];
+            }
+            result.add(new WeightedPath(bestValue[p], nodes));
+        }
+        return result;
+    }
+
+    // Inserts into the descending list at base[0..size), keeping at most k entries; ties go
+    // behind existing entries. Returns the new size.
+    private static int insert(double[] value, int[] a, int[] b, int base, int size, int k,
+                              double v, int x, int y) {
+        int pos = size < k ? size : k - 1;
+        if (size == k && v <= value[base + pos]) return size;
+        while (pos > 0 && value[base + pos - 1] < v) {
+            value[base + pos] = value[base + pos - 1];
+            a[base + pos] = a[base + pos - 1];
+            b[base + pos] = b[base + pos - 1];
+            pos--;
+        }
+        value[base + pos] = v;
+        a[base + pos] = x;
+        b[base + pos] = y;
+        return size < k ? size + 1 : size;
+    }
+
+    /**
+     * Greedy list scheduling on {@code workers} identical workers: whenever a worker is free,
+     * it takes the released task with the longest tail (ties by id). A task is released
+     * once all its predecessors are assigned and their lags have passed.
+     */
+    public Schedule schedule(int workers) {
+        if (workers < 1) throw new IllegalArgumentException("Need at least one worker");
+        metrics.startTimer();
+        int n = dag.size();
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        double[] weights = dag.weights();
+
+        int[] remaining = new int[n];
+        for (int v : targets) remaining[v]++;
+        double[] release = new double[n];
+        Heap free = new Heap(workers);
+        Heap pending = new Heap(16);
+        Heap ready = new Heap(16);
+        for (int w = 0; w < workers; w++) free.push(0.0, w);
+        for (int v = 0; v < n; v++) {
+            if (remaining[v] == 0) pending.push(0.0, v);
+        }
+
+        double[] start = new double[n];
+        int[] assigned = new int[n];
+        double makespan = 0;
+        // The clock never goes back: a task moved to ready at time now may not start on a
+        // worker that has been idle since earlier.
+        double now = 0;
+        for (int done = 0; done < n; done++) {
+            double t = Math.max(free.peekKey(), now);
+            if (ready.size == 0 && pending.peekKey() > t) t = pending.peekKey();
+            now = t;
+            while (pending.size > 0 && pending.peekKey() <= t) {
+                int v = pending.peekId();
+                pending.pop();
+                ready.push(-tail[v], v);
+            }
+            int v = ready.peekId();
+            ready.pop();
+            int w = free.peekId();
+            free.pop();
+
+            double finish = t + durations[v];
+            start[v] = t;
+            assigned[v] = w;
+            if (finish > makespan) makespan = finish;
+            free.push(finish, w);
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                int x = targets[i];
+                if (finish + weights[i] > release[x]) release[x] = finish + weights[i];
+                if (--remaining[x] == 0) pending.push(release[x], x);
+            }
+        }
+        metrics.addPushes(n);
+        metrics.addPops(n);
+        metrics.stopTimer();
+        return new Schedule(workers, makespan, start, assigned);
+    }
+
+    public static class WeightedPath {
+        public final double length;
+        public final List<Integer> nodes;
+
+        public WeightedPath(double length, List<Integer> nodes) {
+            this.length = length;
+            this.nodes = nodes;
+        }
+    }
+
+    public static class Schedule {
+        public final int workers;
+        public final double makespan;
+        public final double[] start;
+        public final int[] worker;
+
+        public Schedule(int workers, double makespan, double[] start, int[] worker) {
+            this.workers = workers;
+            this.makespan = makespan;
+            this.start = start;
+            this.worker = worker;
+        }
+    }
+
+    // Binary min-heap of (key, id) pairs, ties broken by the smaller id.
+    private static final class Heap {
+        double[] keys;
+        int[] ids;
+        int size;
+
+        Heap(int capacity) {
+            keys = new double[Math.max(1, capacity)];
+            ids = new int[keys.length];
+        }
+
+        double peekKey() { return size == 0 ? Double.POSITIVE_INFINITY : keys[0]; }
+        int peekId() { return ids[0]; }
+
+        void push(double key, int id) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, 2 * size);
+                ids = Arrays.copyOf(ids, 2 * size);
+            }
+            int i = size++;
+            while (i > 0) {
+                int p = (i - 1) >>> 1;
+                if (!less(key, id, keys[p], ids[p])) break;
+                keys[i] = keys[p];
+                ids[i] = ids[p];
+                i = p;
+            }
+            keys[i] = key;
+            ids[i] = id;
+        }
+
+        void pop() {
+            double key = keys[--size];
+            int id = ids[size];
+            int i = 0;
+            while (true) {
+                int c = 2 * i + 1;
+                if (c >= size) break;
+                if (c + 1 < size && less(keys[c + 1], ids[c + 1], keys[c], ids[c])) c++;
+                if (!less(keys[c], ids[c], key, id)) break;
+                keys[i] = keys[c];
+                ids[i] = ids[c];
+                i = c;
+            }
+            keys[i] = key;
+            ids[i] = id;
+        }
+
+        private static boolean less(double k1, int id1, double k2, int id2) {
+            return k1 < k2 || (k1 == k2 && id1 < id2);
+        }
+    }
+}
@@ -1,24 +1,38 @@
 package org.example.graph.dagsp;
 
 import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
 import org.example.model.Edge;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 public class DAGPaths {
+    // Sources per batched sweep: one block of distances for a vertex fills a cache line.
+    static final int BLOCK = 8;
+
     private final int n;
-    private final List<List<Edge>> adj;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
     private final PerformanceTracker metrics;
 
     public DAGPaths(int n, List<Edge> edges, PerformanceTracker metrics) {
-        this.n = n;
+        this(toCsr(n, edges), metrics);
+    }
+
+    public DAGPaths(CsrGraph dag, PerformanceTracker metrics) {
+        this.n = dag.size();
+        this.offsets = dag.offsets();
+        this.targets = dag.targets();
+        this.weights = dag.weights();
         this.metrics = metrics;
-        this.adj = new ArrayList<>();
-        for (int i = 0; i < n; i++) adj.add(new ArrayList<>());
-        for (Edge e : edges) adj.get(e.from()).add(e);
     }
 
     public Result shortestPaths(int source, List<Integer> topoOrder) {
+        PerformanceTracker.Phase phase = metrics.phase("shortest");
         metrics.startTimer();
+        long relaxed = 0;
 
         double[] dist = new double[n];
         int[] parent = new int[n];
@@ -28,11 +42,12 @@ public class DAGPaths {
 
         for (int u : topoOrder) {
             if (dist[u] != Double.POSITIVE_INFINITY) {
-                for (Edge e : adj.get(u)) {
-                    metrics.incRelaxations();
-                    if (dist[e.to()] > dist[u] + e.weight()) {
-                        dist[e.to()] = dist[u] + e.weight();
-                        parent[e.to()] = u;
+                relaxed += offsets[u + 1] - offsets[u];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    if (dist[v] > dist[u] + weights[i]) {
+                        dist[v] = dist[u] + weights[i];
+                        parent[v] = u;
                     }
                 }
             }
@@ -44,12 +59,16 @@ public class DAGPaths {
             }
         }
 
+        metrics.addRelaxations(relaxed);
         metrics.stopTimer();
+        phase.close();
         return new Result(dist, parent);
     }
 
     public Result longestPaths(int source, List<Integer> topoOrder) {
+        PerformanceTracker.Phase phase = metrics.phase("longest");
         metrics.startTimer();
+        long relaxed = 0;
 
         double[] dist = new double[n];
         int[] parent = new int[n];
@@ -59,12 +78,13 @@ public class DAGPaths {
 
         for (int u : topoOrder) {
             if (dist[u] != Double.NEGATIVE_INFINITY) {
-                for (Edge e : adj.get(u)) {
-                    metrics.incRelaxations();
-                    double cand = dist[u] + e.weight();
-                    if (cand > dist[e.to()]) {
-                        dist[e.to()] = cand;
-                        parent[e.to()] = u;
+                relaxed += offsets[u + 1] - offsets[u];
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    double cand = dist[u] + weights[i];
+                    if (cand > dist[v]) {
+                        dist[v] = cand;
+                        parent[v] = u;
                     }
                 }
             }
@@ -76,10 +96,229 @@ public class DAGPaths {
             }
         }
 
+        metrics.addRelaxations(relaxed);
         metrics.stopTimer();
+        phase.close();
         return new Result(dist, parent);
     }
 
+    /**
+     * Both {@link #shortestPaths} and {@link #longestPaths} from {@code source} in one sweep:
+     * each edge is loaded once and relaxes the minimum and the maximum distance of its head.
+     * A vertex is reachable for one iff it is for the other, so a single test skips the
+     * unreachable prefix of the order. Relaxations are counted as for the two separate runs.
+     */
+    public Paths shortestAndLongest(int source, int[] topoOrder) {
+        PerformanceTracker.Phase phase = metrics.phase("shortest_longest");
+        metrics.startTimer();
+        long relaxed = 0;
+
+        double[] lo = new double[n];
+        double[] hi = new double[n];
+        int[] loParent = new int[n];
+        int[] hiParent = new int[n];
+        Arrays.fill(lo, Double.POSITIVE_INFINITY);
+        Arrays.fill(hi, Double.NEGATIVE_INFINITY);
+        Arrays.fill(loParent, -1);
+        Arrays.fill(hiParent, -1);
+        lo[source] = 0;
+        hi[source] = 0;
+
+        for (int u : topoOrder) {
+            double du = lo[u];
+            if (du == Double.POSITIVE_INFINITY) continue;
+            double hu = hi[u];
+            int end = offsets[u + 1];
+            relaxed += end - offsets[u];
+            for (int i = offsets[u]; i < end; i++) {
+                int v = targets[i];
+                double w = weights[i];
+                if (du + w < lo[v]) {
+                    lo[v] = du + w;
+                    loParent[v] = u;
+                }
+                if (hu + w > hi[v]) {
+                    hi[v] = hu + w;
+                    hiParent[v] = u;
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (Double.isInfinite(lo[i]) || Double.isNaN(lo[i])) lo[i] = -1.0;
+            if (Double.isInfinite(hi[i]) || Double.isNaN(hi[i])) hi[i] = -1.0;
+        }
+
+        metrics.addRelaxations(2 * relaxed);
+        metrics.stopTimer();
+        phase.close();
+        return new Paths(new Result(lo, loParent), new Result(hi, hiParent));
+    }
+
+    /**
+     * Shortest paths from a virtual super-source with a zero-weight edge to every vertex in
+     * {@code sources}: {@code dist[v]} is the distance from the nearest source, and following
+     * {@code parent} from {@code v} ends at that source.
+     */
+    public Result shortestPaths(int[] sources, int[] topoOrder) {
+        return superSource(sources, topoOrder, false);
+    }
+
+    /** Longest-path counterpart of {@link #shortestPaths(int[], int[])}. */
+    public Result longestPaths(int[] sources, int[] topoOrder) {
+        return superSource(sources, topoOrder, true);
+    }
+
+    private Result superSource(int[] sources, int[] topoOrder, boolean longest) {
+        PerformanceTracker.Phase phase = metrics.phase(longest ? "longest_multi" : "shortest_multi");
+        metrics.startTimer();
+        long relaxed = 0;
+
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+        Arrays.fill(dist, unreached);
+        Arrays.fill(parent, -1);
+        for (int s : sources) dist[s] = 0;
+
+        for (int u : topoOrder) {
+            double du = dist[u];
+            if (du == unreached) continue;
+            relaxed += offsets[u + 1] - offsets[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                double cand = du + weights[i];
+                if (longest ? cand > dist[v] : cand < dist[v]) {
+                    dist[v] = cand;
+                    parent[v] = u;
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (Double.isInfinite(dist[i]) || Double.isNaN(dist[i])) {
+                dist[i] = -1.0;
+            }
+        }
+
+        metrics.addRelaxations(relaxed);
+        metrics.stopTimer();
+        phase.close();
+        return new Result(dist, parent);
+    }
+
+    /**
+     * Shortest distances from each of {@code sources} separately: row {@code k} equals
+     * {@code shortestPaths(sources[k], ...).dist}. Sources are processed in blocks of
+     * {@value #BLOCK} that share one topological sweep, with blocks spread over
+     * {@code parallelism} threads. Graphs too large for {@value #BLOCK} interleaved rows in
+     * one array get smaller blocks.
+     */
+    public double[][] shortestDistances(int[] sources, int[] topoOrder, int parallelism) {
+        return batched(sources, topoOrder, parallelism, false);
+    }
+
+    /** Longest-path counterpart of {@link #shortestDistances}. */
+    public double[][] longestDistances(int[] sources, int[] topoOrder, int parallelism) {
+        return batched(sources, topoOrder, parallelism, true);
+    }
+
+    /** Vertices without incoming edges, in increasing order. */
+    public int[] roots() {
+        boolean[] hasIn = new boolean[n];
+        for (int i = 0; i < offsets[n]; i++) hasIn[targets[i]] = true;
+        int count = 0;
+        for (int v = 0; v < n; v++) if (!hasIn[v]) count++;
+        int[] roots = new int[count];
+        for (int v = 0, k = 0; v < n; v++) if (!hasIn[v]) roots[k++] = v;
+        return roots;
+    }
+
+    private double[][] batched(int[] sources, int[] topoOrder, int parallelism, boolean longest) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1");
+        PerformanceTracker.Phase phase = metrics.phase(longest ? "longest_batched" : "shortest_batched");
+        metrics.startTimer();
+
+        int k = sources.length;
+        double[][] out = new double[k][];
+        int[] position = new int[n];
+        for (int i = 0; i < topoOrder.length; i++) position[topoOrder[i]] = i;
+
+        int width = blockWidth(n);
+        int blocks = (k + width - 1) / width;
+        long[] relaxed = new long[blocks];
+        if (parallelism == 1 || blocks == 1) {
+            for (int b = 0; b < blocks; b++) {
+                relaxed[b] = sweepBlock(sources, b * width, width, topoOrder, position, longest, out);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> IntStream.range(0, blocks).parallel().forEach(b ->
+                        relaxed[b] = sweepBlock(sources, b * width, width, topoOrder, position, longest, out)))
+                        .join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+        long total = 0;
+        for (long r : relaxed) total += r;
+
+        metrics.addRelaxations(total);
+        metrics.stopTimer();
+        phase.close();
+        return out;
+    }
+
+    // Sources per block: a block holds n * width distances in one array.
+    static int blockWidth(int n) {
+        return (int) Math.min(BLOCK, (Integer.MAX_VALUE - 8L) / Math.max(n, 1));
+    }
+
+    // One sweep for sources[from, from + block). Distances are interleaved per vertex
+    // (dist[v * width + j]) so each edge touches one contiguous run of the block.
+    private long sweepBlock(int[] sources, int from, int block, int[] topoOrder, int[] position, boolean longest,
+                            double[][] out) {
+        int width = Math.min(block, sources.length - from);
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        double[] dist = new double[n * width];
+        Arrays.fill(dist, unreached);
+        int start = topoOrder.length;
+        for (int j = 0; j < width; j++) {
+            int s = sources[from + j];
+            dist[s * width + j] = 0;
+            start = Math.min(start, position[s]);
+        }
+
+        long relaxed = 0;
+        for (int t = start; t < topoOrder.length; t++) {
+            int u = topoOrder[t];
+            int ub = u * width;
+            boolean reached = false;
+            for (int j = 0; j < width && !reached; j++) reached = dist[ub + j] != unreached;
+            if (!reached) continue;
+            relaxed += (long) (offsets[u + 1] - offsets[u]) * width;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int vb = targets[i] * width;
+                double w = weights[i];
+                for (int j = 0; j < width; j++) {
+                    double cand = dist[ub + j] + w;
+                    if (longest ? cand > dist[vb + j] : cand < dist[vb + j]) dist[vb + j] = cand;
+                }
+            }
+        }
+
+        for (int j = 0; j < width; j++) {
+            double[] row = new double[n];
+            for (int v = 0; v < n; v++) {
+                double d = dist[v * width + j];
+                row[v] = Double.isInfinite(d) || Double.isNaN(d) ? -1.0 : d;
+            }
+            out[from + j] = row;
+        }
+        return relaxed;
+    }
+
     public static List<Integer> reconstructPath(int target, int[] parent) {
         List<Integer> path = new ArrayList<>();
         for (int v = target; v != -1; v = parent[v]) {
@@ -89,6 +328,22 @@ public class DAGPaths {
         return path;
     }
 
+    private static CsrGraph toCsr(int n, List<Edge> edges) {
+        CsrGraph.Builder b = new CsrGraph.Builder(n, edges.size());
+        for (Edge e : edges) b.addEdge(e.from(), e.to(), e.weight());
+        return b.build();
+    }
+
+    public static class Paths {
+        public final Result shortest;
+        public final Result longest;
+
+        public Paths(Result shortest, Result longest) {
+            this.shortest = shortest;
+            this.longest = longest;
+        }
+    }
+
     public static class Result {
         public final double[] dist;
         public final int[] parent;
@@ -5,35 +5,62 @@ import org.example.model.*;
 import java.util.*;
 
 
-public class Kosaraju {
-    private final Graph graph;
+public class Kosaraju implements SccAlgorithm {
+    /**
+     * RECURSIVE uses one JVM frame per DFS level; ITERATIVE keeps the DFS on preallocated
+     * int arrays and is safe for arbitrarily deep graphs. Both produce identical results.
+     */
+    public enum Mode { RECURSIVE, ITERATIVE }
+
+    private final CsrGraph graph;
     private final PerformanceTracker metrics;
+    private final Mode mode;
     private boolean[] visited;
     private Deque<Integer> order;
     private List<List<Integer>> components;
     private int[] compId;
+    // Counted here and reported to the tracker once per run.
+    private long visits;
+    private long edges;
 
     public Kosaraju(Graph graph, PerformanceTracker metrics) {
+        this(graph.freeze(), metrics);
+    }
+
+    public Kosaraju(CsrGraph graph, PerformanceTracker metrics) {
+        this(graph, metrics, Mode.RECURSIVE);
+    }
+
+    public Kosaraju(CsrGraph graph, PerformanceTracker metrics, Mode mode) {
         this.graph = graph;
         this.metrics = metrics;
+        this.mode = mode;
     }
 
+    @Override
     public List<List<Integer>> run() {
         metrics.startTimer();
 
         int n = graph.size();
         visited = new boolean[n];
-        order = new ArrayDeque<>();
         components = new ArrayList<>();
         compId = new int[n];
         Arrays.fill(compId, -1);
+        visits = edges = 0;
 
+        if (mode == Mode.ITERATIVE) {
+            runIterative(n);
+            report();
+            return components;
+        }
+
+        order = new ArrayDeque<>();
         for (int v = 0; v < n; v++) {
             if (!visited[v]) dfsFirst(v);
         }
 
         Arrays.fill(visited, false);
-        Graph transposed = graph.transpose();
+        CsrGraph transposed = graph.transpose();
 
         while (!order.isEmpty()) {
             int v = order.pop();
@@ -44,35 +71,123 @@ public class Kosaraju {
             }
         }
 
-        metrics.stopTimer();
+        report();
         return components;
     }
 
+    private void report() {
+        metrics.addDfsVisits(visits);
+        metrics.addEdgesExplored(edges);
+        metrics.stopTimer();
+    }
+
+    private void runIterative(int n) {
+        int[] stack = new int[n];
+        int[] cursor = new int[n];
+        int[] finished = new int[n];
+        int finishedCount = 0;
+        long scanned = 0;
+
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) continue;
+            int top = 0;
+            visited[s] = true;
+            scanned += offsets[s + 1] - offsets[s];
+            cursor[s] = offsets[s];
+            stack[top++] = s;
+
+            while (top > 0) {
+                int v = stack[top - 1];
+                if (cursor[v] < offsets[v + 1]) {
+                    int w = targets[cursor[v]++];
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        scanned += offsets[w + 1] - offsets[w];
+                        cursor[w] = offsets[w];
+                        stack[top++] = w;
+                    }
+                } else {
+                    top--;
+                    finished[finishedCount++] = v;
+                }
+            }
+        }
+
+        Arrays.fill(visited, false);
+        CsrGraph transposed = graph.transpose();
+        offsets = transposed.offsets();
+        targets = transposed.targets();
+
+        for (int k = n - 1; k >= 0; k--) {
+            int s = finished[k];
+            if (visited[s]) continue;
+            int compIndex = components.size();
+            List<Integer> comp = new ArrayList<>();
+            int top = 0;
+            visited[s] = true;
+            compId[s] = compIndex;
+            comp.add(s);
+            scanned += offsets[s + 1] - offsets[s];
+            cursor[s] = offsets[s];
+            stack[top++] = s;
+
+            while (top > 0) {
+                int v = stack[top - 1];
+                if (cursor[v] < offsets[v + 1]) {
+                    int w = targets[cursor[v]++];
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        compId[w] = compIndex;
+                        comp.add(w);
+                        scanned += offsets[w + 1] - offsets[w];
+                        cursor[w] = offsets[w];
+                        stack[top++] = w;
+                    }
+                } else {
+                    top--;
+                }
+            }
+            components.add(comp);
+        }
+        // Both passes visit every vertex once and scan each of its edges.
+        visits += 2L * n;
+        edges += scanned;
+    }
+
     private void dfsFirst(int v) {
         visited[v] = true;
-        metrics.incDfsVisits();
-        for (Edge e : graph.getAdj().get(v)) {
-            int w = e.to();
-            metrics.incEdgesExplored();
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        visits++;
+        edges += offsets[v + 1] - offsets[v];
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+            int w = targets[i];
             if (!visited[w]) dfsFirst(w);
         }
         order.push(v);
     }
 
-    private void dfsSecond(Graph g, int v, int compIndex, List<Integer> comp) {
+    private void dfsSecond(CsrGraph g, int v, int compIndex, List<Integer> comp) {
         visited[v] = true;
         compId[v] = compIndex;
         comp.add(v);
-        metrics.incDfsVisits();
 
-        for (Edge e : g.getAdj().get(v)) {
-            int w = e.to();
-            metrics.incEdgesExplored();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        visits++;
+        edges += offsets[v + 1] - offsets[v];
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+            int w = targets[i];
             if (!visited[w]) dfsSecond(g, w, compIndex, comp);
         }
     }
 
+    @Override
     public List<List<Integer>> getComponents() { return components; }
+    @Override
     public int[] getComponentIds() { return compId; }
+    @Override
     public int count() { return components.size(); }
 }
@@ -0,0 +1,433 @@
+package org.example.graph.scc;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Multi-core SCC decomposition: parallel trimming of vertices without in- or out-edges,
+ * then recursive forward-backward (FW-BW) splitting on a {@link ForkJoinPool}. Large
+ * reachability sweeps are level-synchronous and expand their frontier in parallel;
+ * subproblems below {@link #SEQUENTIAL_CUTOFF} vertices fall back to a restricted Tarjan.
+ * <p>
+ * Components are numbered in topological order of the condensation, and each component
+ * lists its vertices in ascending order. The result does not depend on the thread count.
+ */
+public class ParallelScc implements SccAlgorithm {
+    static final int SEQUENTIAL_CUTOFF = 1 << 14;
+    static final int FRONTIER_CHUNK = 1 << 11;
+
+    private static final int DONE = -1;
+
+    private final CsrGraph graph;
+    private final PerformanceTracker metrics;
+    private final int parallelism;
+
+    private CsrGraph reverse;
+    private int[] owner;
+    private int[] local;
+    private AtomicIntegerArray fwMark;
+    private AtomicIntegerArray bwMark;
+    private AtomicInteger nextId;
+    // Workers count into a striped tracker; the caller's may be single-threaded.
+    private PerformanceTracker counts;
+
+    private List<List<Integer>> components;
+    private int[] compId;
+
+    public ParallelScc(CsrGraph graph, PerformanceTracker metrics) {
+        this(graph, metrics, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelScc(CsrGraph graph, PerformanceTracker metrics, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1");
+        this.graph = graph;
+        this.metrics = metrics;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public List<List<Integer>> run() {
+        metrics.startTimer();
+
+        int n = graph.size();
+        owner = new int[n];
+        local = new int[n];
+        fwMark = new AtomicIntegerArray(n);
+        bwMark = new AtomicIntegerArray(n);
+        nextId = new AtomicInteger(1);
+        counts = PerformanceTracker.concurrent();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Piece root;
+        try {
+            root = pool.invoke(new RecursiveTask<Piece>() {
+                @Override
+                protected Piece compute() {
+                    reverse = graph.transpose();
+                    return trimAndSolve();
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        flatten(root, n);
+
+        metrics.addDfsVisits(counts.getDfsVisits());
+        metrics.addEdgesExplored(counts.getEdgesExplored());
+        metrics.stopTimer();
+        return components;
+    }
+
+    @Override
+    public List<List<Integer>> getComponents() { return components; }
+    @Override
+    public int[] getComponentIds() { return compId; }
+    @Override
+    public int count() { return components.size(); }
+
+    // Peels vertices with no remaining in-edges (to the front of the order) or no remaining
+    // out-edges (to the back) in synchronous rounds, then runs FW-BW on what is left.
+    private Piece trimAndSolve() {
+        int n = graph.size();
+        int[] fOffsets = graph.offsets();
+        int[] rOffsets = reverse.offsets();
+        AtomicIntegerArray inDeg = new AtomicIntegerArray(n);
+        AtomicIntegerArray outDeg = new AtomicIntegerArray(n);
+        AtomicIntegerArray removed = new AtomicIntegerArray(n);
+
+        int[] frontier = new int[n];
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            inDeg.setPlain(v, rOffsets[v + 1] - rOffsets[v]);
+            outDeg.setPlain(v, fOffsets[v + 1] - fOffsets[v]);
+            if (inDeg.getPlain(v) == 0 || outDeg.getPlain(v) == 0) {
+                removed.setPlain(v, 1);
+                frontier[size++] = v;
+            }
+        }
+
+        IntBuf front = new IntBuf();
+        List<int[]> backRounds = new ArrayList<>();
+        int[] next = new int[n];
+        while (size > 0) {
+            Arrays.sort(frontier, 0, size);
+            IntBuf back = new IntBuf();
+            for (int i = 0; i < size; i++) {
+                int v = frontier[i];
+                owner[v] = DONE;
+                if (inDeg.get(v) == 0) front.add(v);
+                else back.add(v);
+            }
+            backRounds.add(back.toArray());
+            counts.addDfsVisits(size);
+
+            size = expand(frontier, size, next, (v, out) -> {
+                out.scanned += peel(v, graph, inDeg, removed, out) + peel(v, reverse, outDeg, removed, out);
+            });
+            int[] t = frontier;
+            frontier = next;
+            next = t;
+        }
+
+        IntBuf rest = new IntBuf();
+        for (int v = 0; v < n; v++) {
+            if (owner[v] != DONE) rest.add(v);
+        }
+        List<Piece> parts = new ArrayList<>();
+        parts.add(Piece.singletons(front.toArray()));
+        if (rest.size > 0) parts.add(solve(rest.toArray()));
+        for (int r = backRounds.size() - 1; r >= 0; r--) {
+            parts.add(Piece.singletons(backRounds.get(r)));
+        }
+        return new Piece(parts.toArray(new Piece[0]));
+    }
+
+    private static int peel(int v, CsrGraph g, AtomicIntegerArray degree, AtomicIntegerArray removed, IntBuf out) {
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+            int w = targets[i];
+            // Decrement even for removed vertices so every round starts from exact degrees.
+            if (degree.decrementAndGet(w) == 0 && removed.compareAndSet(w, 0, 1)) {
+                out.add(w);
+            }
+        }
+        return offsets[v + 1] - offsets[v];
+    }
+
+    private Piece solve(int[] verts) {
+        int id = nextId.getAndIncrement();
+        for (int v : verts) owner[v] = id;
+        return new Solve(verts, id).compute();
+    }
+
+    private final class Solve extends RecursiveTask<Piece> {
+        private final int[] verts;
+        private final int id;
+
+        Solve(int[] verts, int id) {
+            this.verts = verts;
+            this.id = id;
+        }
+
+        @Override
+        protected Piece compute() {
+            if (verts.length <= SEQUENTIAL_CUTOFF) return tarjan(verts, id);
+
+            int h = verts.length * 0x9E3779B9 ^ verts[0];
+            int pivot = verts[Math.floorMod(h ^ (h >>> 16), verts.length)];
+            reach(pivot, id, graph, fwMark, verts.length);
+            reach(pivot, id, reverse, bwMark, verts.length);
+
+            IntBuf scc = new IntBuf(), fwOnly = new IntBuf(), bwOnly = new IntBuf(), rest = new IntBuf();
+            for (int v : verts) {
+                boolean f = fwMark.getPlain(v) == id;
+                boolean b = bwMark.getPlain(v) == id;
+                if (f && b) scc.add(v);
+                else if (f) fwOnly.add(v);
+                else if (b) bwOnly.add(v);
+                else rest.add(v);
+            }
+            for (int i = 0; i < scc.size; i++) owner[scc.data[i]] = DONE;
+
+            // Ancestors of the pivot's SCC come first, its descendants last; the unrelated
+            // remainder has no edges into the ancestors or out of the descendants.
+            List<Solve> tasks = new ArrayList<>(3);
+            Piece[] parts = new Piece[4];
+            int[] slots = new int[3];
+            IntBuf[] subsets = {bwOnly, rest, fwOnly};
+            int[] positions = {0, 2, 3};
+            for (int k = 0; k < 3; k++) {
+                if (subsets[k].size == 0) continue;
+                int[] sub = subsets[k].toArray();
+                int childId = nextId.getAndIncrement();
+                for (int v : sub) owner[v] = childId;
+                slots[tasks.size()] = positions[k];
+                tasks.add(new Solve(sub, childId));
+            }
+            parts[1] = new Piece(scc.toArray(), new int[]{0, scc.size});
+            invokeAll(tasks);
+            for (int k = 0; k < tasks.size(); k++) parts[slots[k]] = tasks.get(k).join();
+            return new Piece(Arrays.stream(parts).filter(Objects::nonNull).toArray(Piece[]::new));
+        }
+    }
+
+    private void reach(int pivot, int id, CsrGraph g, AtomicIntegerArray mark, int setSize) {
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        int[] frontier = new int[setSize];
+        int[] next = new int[setSize];
+        mark.set(pivot, id);
+        frontier[0] = pivot;
+        int size = 1;
+        while (size > 0) {
+            counts.addDfsVisits(size);
+            size = expand(frontier, size, next, (v, out) -> {
+                for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                    int w = targets[i];
+                    if (owner[w] != id) continue;
+                    int seen = mark.get(w);
+                    if (seen != id && mark.compareAndSet(w, seen, id)) out.add(w);
+                }
+                out.scanned += offsets[v + 1] - offsets[v];
+            });
+            int[] t = frontier;
+            frontier = next;
+            next = t;
+        }
+    }
+
+    private Piece tarjan(int[] verts, int id) {
+        int len = verts.length;
+        for (int i = 0; i < len; i++) local[verts[i]] = i;
+
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        int[] index = new int[len];
+        int[] low = new int[len];
+        int[] cursor = new int[len];
+        int[] callStack = new int[len];
+        int[] sccStack = new int[len];
+        boolean[] onStack = new boolean[len];
+        Arrays.fill(index, -1);
+
+        int[] order = new int[len];
+        IntBuf ends = new IntBuf();
+        int emitted = 0;
+        int counter = 0;
+        int sp = 0;
+        long scanned = 0;
+
+        for (int s = 0; s < len; s++) {
+            if (index[s] != -1) continue;
+            int top = 0;
+            index[s] = low[s] = counter++;
+            sccStack[sp++] = s;
+            onStack[s] = true;
+            cursor[s] = offsets[verts[s]];
+            callStack[top++] = s;
+
+            while (top > 0) {
+                int v = callStack[top - 1];
+                if (cursor[v] < offsets[verts[v] + 1]) {
+                    int w = targets[cursor[v]++];
+                    scanned++;
+                    if (owner[w] != id) continue;
+                    int lw = local[w];
+                    if (index[lw] == -1) {
+                        index[lw] = low[lw] = counter++;
+                        sccStack[sp++] = lw;
+                        onStack[lw] = true;
+                        cursor[lw] = offsets[w];
+                        callStack[top++] = lw;
+                    } else if (onStack[lw] && index[lw] < low[v]) {
+                        low[v] = index[lw];
+                    }
+                    continue;
+                }
+
+                top--;
+                if (top > 0) {
+                    int u = callStack[top - 1];
+                    if (low[v] < low[u]) low[u] = low[v];
+                }
+                if (low[v] == index[v]) {
+                    int start = sp - 1;
+                    while (sccStack[start] != v) start--;
+                    int from = emitted;
+                    for (int i = start; i < sp; i++) {
+                        onStack[sccStack[i]] = false;
+                        order[emitted++] = verts[sccStack[i]];
+                    }
+                    Arrays.sort(order, from, emitted);
+                    ends.add(emitted);
+                    sp = start;
+                }
+            }
+        }
+        counts.addDfsVisits(len);
+        counts.addEdgesExplored(scanned);
+
+        // Tarjan finishes sinks first; lay the components out source-first.
+        int[] out = new int[len];
+        int[] starts = new int[ends.size + 1];
+        int pos = 0;
+        for (int c = ends.size - 1, k = 1; c >= 0; c--, k++) {
+            int from = c == 0 ? 0 : ends.data[c - 1];
+            int to = ends.data[c];
+            System.arraycopy(order, from, out, pos, to - from);
+            pos += to - from;
+            starts[k] = pos;
+        }
+        for (int v : verts) owner[v] = DONE;
+        return new Piece(out, starts);
+    }
+
+    private int expand(int[] frontier, int size, int[] next, Expander expander) {
+        AtomicInteger nextSize = new AtomicInteger();
+        new Expand(frontier, 0, size, next, nextSize, expander).invoke();
+        return nextSize.get();
+    }
+
+    @FunctionalInterface
+    private interface Expander {
+        void expand(int v, IntBuf out);
+    }
+
+    private final class Expand extends RecursiveAction {
+        private final int[] frontier;
+        private final int lo;
+        private final int hi;
+        private final int[] next;
+        private final AtomicInteger nextSize;
+        private final Expander expander;
+
+        Expand(int[] frontier, int lo, int hi, int[] next, AtomicInteger nextSize, Expander expander) {
+            this.frontier = frontier;
+            this.lo = lo;
+            this.hi = hi;
+            this.next = next;
+            this.nextSize = nextSize;
+            this.expander = expander;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > FRONTIER_CHUNK) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Expand(frontier, lo, mid, next, nextSize, expander),
+                        new Expand(frontier, mid, hi, next, nextSize, expander));
+                return;
+            }
+            IntBuf out = new IntBuf();
+            for (int i = lo; i < hi; i++) expander.expand(frontier[i], out);
+            int at = nextSize.getAndAdd(out.size);
+            System.arraycopy(out.data, 0, next, at, out.size);
+            counts.addEdgesExplored(out.scanned);
+        }
+    }
+
+    private void flatten(Piece root, int n) {
+        components = new ArrayList<>();
+        compId = new int[n];
+        Deque<Piece> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Piece p = stack.pop();
+            if (p.parts != null) {
+                for (int i = p.parts.length - 1; i >= 0; i--) stack.push(p.parts[i]);
+                continue;
+            }
+            for (int c = 0; c + 1 < p.starts.length; c++) {
+                List<Integer> comp = new ArrayList<>(p.starts[c + 1] - p.starts[c]);
+                for (int i = p.starts[c]; i < p.starts[c + 1]; i++) {
+                    compId[p.verts[i]] = components.size();
+                    comp.add(p.verts[i]);
+                }
+                components.add(comp);
+            }
+        }
+    }
+
+    // A run of components in topological order: either a leaf whose component c is
+    // verts[starts[c]..starts[c + 1]), or an ordered concatenation of parts.
+    private static final class Piece {
+        final int[] verts;
+        final int[] starts;
+        final Piece[] parts;
+
+        Piece(int[] verts, int[] starts) {
+            this.verts = verts;
+            this.starts = starts;
+            this.parts = null;
+        }
+
+        Piece(Piece[] parts) {
+            this.verts = null;
+            this.starts = null;
+            this.parts = parts;
+        }
+
+        static Piece singletons(int[] verts) {
+            int[] starts = new int[verts.length + 1];
+            for (int i = 0; i <= verts.length; i++) starts[i] = i;
+            return new Piece(verts, starts);
+        }
+    }
+
+    private static final class IntBuf {
+        int[] data = new int[16];
+        int size;
+        long scanned;
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        int[] toArray() { return Arrays.copyOf(data, size); }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.graph.scc;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.example.model.GraphView;
+import java.util.*;
+
+/**
+ * Common surface of the strongly-connected-component engines. Component ids are dense
+ * ({@code 0..count()-1}) and numbered so that every condensation edge goes from a lower
+ * id to a higher one.
+ * <p>
+ * Only {@code tarjan} reads a {@link GraphView} and so also runs on off-heap graphs; the
+ * other engines transpose the graph on the heap and need a {@link CsrGraph}.
+ */
+public interface SccAlgorithm {
+    List<List<Integer>> run();
+    List<List<Integer>> getComponents();
+    int[] getComponentIds();
+    int count();
+
+    List<String> ENGINES = List.of("kosaraju", "kosaraju-iterative", "tarjan", "parallel");
+
+    static SccAlgorithm create(String engine, GraphView graph, PerformanceTracker metrics) {
+        return create(engine, graph, metrics, Runtime.getRuntime().availableProcessors());
+    }
+
+    static SccAlgorithm create(String engine, GraphView graph, PerformanceTracker metrics, int threads) {
+        return switch (engine) {
+            case "kosaraju" -> new Kosaraju(onHeap(engine, graph), metrics, Kosaraju.Mode.RECURSIVE);
+            case "kosaraju-iterative" -> new Kosaraju(onHeap(engine, graph), metrics, Kosaraju.Mode.ITERATIVE);
+            case "tarjan" -> new Tarjan(graph, metrics);
+            case "parallel" -> new ParallelScc(onHeap(engine, graph), metrics, threads);
+            default -> throw new IllegalArgumentException(
+                    "Unknown SCC engine: " + engine + " (expected one of " + ENGINES + ")");
+        };
+    }
+
+    private static CsrGraph onHeap(String engine, GraphView graph) {
+        if (graph instanceof CsrGraph csr) return csr;
+        throw new IllegalArgumentException("SCC engine " + engine + " needs an on-heap CsrGraph, got "
+                + graph.getClass().getSimpleName() + "; use tarjan instead");
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.graph.topo;
+
+import org.example.model.CsrGraph;
+
+/**
+ * Weighted condensation DAG: one edge per connected component pair, carrying the minimum
+ * and the maximum weight of the original edges between the two components. Both views
+ * share the offset and target arrays.
+ */
+public class Condensation {
+    private final CsrGraph minDag;
+    private final CsrGraph maxDag;
+
+    public Condensation(int compCount, int[] offsets, int[] targets, double[] minWeights, double[] maxWeights) {
+        this.minDag = new CsrGraph(compCount, offsets, targets, minWeights);
+        this.maxDag = new CsrGraph(compCount, offsets, targets, maxWeights);
+    }
+
+    public int size() { return minDag.size(); }
+    public int edgeCount() { return minDag.edgeCount(); }
+
+    public CsrGraph minDag() { return minDag; }
+    public CsrGraph maxDag() { return maxDag; }
+}
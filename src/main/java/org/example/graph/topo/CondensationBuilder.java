@@ -22,6 +22,117 @@ public class CondensationBuilder {
         return dag;
     }
 
+    public static List<Set<Integer>> build(CsrGraph graph, int[] compId, int compCount) {
+        List<Set<Integer>> dag = new ArrayList<>();
+        for (int i = 0; i < compCount; i++) {
+            dag.add(new LinkedHashSet<>());
+        }
+
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        for (int u = 0; u < graph.size(); u++) {
+            int from = compId[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int to = compId[targets[i]];
+                if (from != to) {
+                    dag.get(from).add(to);
+                }
+            }
+        }
+        return dag;
+    }
+
+    /**
+     * Primitive variant of {@link #build}: cross-component edges are bucketed by source
+     * component with a counting sort, then each bucket is deduplicated with a per-target
+     * marker array. Targets keep first-occurrence order, exactly as the LinkedHashSet
+     * version iterates them. Edge weights are 1.0.
+     */
+    public static CsrGraph buildCsr(GraphView graph, int[] compId, int compCount) {
+        return condense(graph, compId, compCount, false).minDag();
+    }
+
+    /**
+     * Same single pass as {@link #buildCsr}, additionally folding the weights of all original
+     * edges between two components into their minimum and maximum. The input may be
+     * off-heap with more than {@code Integer.MAX_VALUE} edges, as long as the edges between
+     * components fit an on-heap CSR graph.
+     */
+    public static Condensation buildWeighted(GraphView graph, int[] compId, int compCount) {
+        return condense(graph, compId, compCount, true);
+    }
+
+    private static Condensation condense(GraphView graph, int[] compId, int compCount, boolean weighted) {
+        int n = graph.size();
+
+        int[] rowStart = new int[compCount + 1];
+        long crossing = 0;
+        for (int u = 0; u < n; u++) {
+            int from = compId[u];
+            for (long i = graph.edgeStart(u), end = graph.edgeEnd(u); i < end; i++) {
+                if (compId[graph.target(i)] != from) {
+                    rowStart[from + 1]++;
+                    crossing++;
+                }
+            }
+        }
+        if (crossing > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Too many edges between components: " + crossing);
+        for (int c = 0; c < compCount; c++) rowStart[c + 1] += rowStart[c];
+
+        int[] cursor = Arrays.copyOf(rowStart, compCount);
+        int[] bucketed = new int[rowStart[compCount]];
+        double[] minW = new double[weighted ? bucketed.length : 0];
+        for (int u = 0; u < n; u++) {
+            int from = compId[u];
+            for (long i = graph.edgeStart(u), end = graph.edgeEnd(u); i < end; i++) {
+                int to = compId[graph.target(i)];
+                if (to == from) continue;
+                int slot = cursor[from]++;
+                bucketed[slot] = to;
+                if (weighted) minW[slot] = graph.weight(i);
+            }
+        }
+
+        // position[to] is where `to` was kept in the current row; anything below the row's
+        // first output slot belongs to an earlier row.
+        int[] position = cursor;
+        Arrays.fill(position, -1);
+        double[] maxW = weighted ? Arrays.copyOf(minW, minW.length) : null;
+        int[] dagOffsets = new int[compCount + 1];
+        int m = 0;
+        for (int c = 0; c < compCount; c++) {
+            int rowOut = m;
+            for (int i = rowStart[c]; i < rowStart[c + 1]; i++) {
+                int to = bucketed[i];
+                int kept = position[to];
+                if (kept >= rowOut) {
+                    if (weighted) {
+                        if (minW[i] < minW[kept]) minW[kept] = minW[i];
+                        if (maxW[i] > maxW[kept]) maxW[kept] = maxW[i];
+                    }
+                    continue;
+                }
+                position[to] = m;
+                bucketed[m] = to;
+                if (weighted) {
+                    minW[m] = minW[i];
+                    maxW[m] = maxW[i];
+                }
+                m++;
+            }
+            dagOffsets[c + 1] = m;
+        }
+
+        int[] dagTargets = Arrays.copyOf(bucketed, m);
+        if (!weighted) {
+            double[] unit = new double[m];
+            Arrays.fill(unit, 1.0);
+            return new Condensation(compCount, dagOffsets, dagTargets, unit, unit);
+        }
+        return new Condensation(compCount, dagOffsets, dagTargets, Arrays.copyOf(minW, m), Arrays.copyOf(maxW, m));
+    }
+
     public static List<Map<String, Integer>> edgesAsList(List<Set<Integer>> dag) {
         List<Map<String, Integer>> edges = new ArrayList<>();
         for (int i = 0; i < dag.size(); i++) {
@@ -35,6 +146,21 @@ public class CondensationBuilder {
         return edges;
     }
 
+    public static List<Map<String, Integer>> edgesAsList(CsrGraph dag) {
+        List<Map<String, Integer>> edges = new ArrayList<>(dag.edgeCount());
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        for (int i = 0; i < dag.size(); i++) {
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                Map<String, Integer> e = new LinkedHashMap<>();
+                e.put("from", i);
+                e.put("to", targets[k]);
+                edges.add(e);
+            }
+        }
+        return edges;
+    }
+
     public static int edgeCount(List<Set<Integer>> dag) {
         int count = 0;
         for (Set<Integer> edges : dag) count += edges.size();
@@ -0,0 +1,556 @@
+package org.example.graph.topo;
+
+import org.example.graph.scc.Tarjan;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import java.util.*;
+
+/**
+ * Strongly connected components, their condensation and a topological order of it, kept
+ * up to date while edges are added and removed.
+ * <p>
+ * Components live in slots {@code 0..n-1}. A slot id stays the same until its component is
+ * merged or split. Every slot, live or free, holds a distinct position in the order, and
+ * every condensation edge goes from a lower position to a higher one.
+ * <p>
+ * Inserting an edge against the order runs the Pearce-Kelly search. A forward search starts
+ * at the head and a backward search at the tail, both bounded by the two positions. The
+ * components they visit are then reassigned the same set of positions. If the forward
+ * search reaches the tail, the edge closed a cycle and the components seen by both searches
+ * merge into one. Deleting an edge inside a component re-runs Tarjan on that component
+ * alone. If it falls apart, the pieces take free slots and their edges are re-inserted the
+ * same way. The Tarjan pass is skipped when the tail still reaches the head, which a
+ * bidirectional search usually settles after a few vertices even in a large component.
+ * Either update touches the region between the two positions or the component concerned,
+ * never the whole graph.
+ * <p>
+ * Edges are unweighted. Parallel edges are counted, so removing one of two copies keeps
+ * the condensation edge.
+ */
+public class IncrementalCondensation {
+    private final int n;
+    private final PerformanceTracker metrics;
+
+    // Vertex adjacency in no particular order: out[u][0..outDeg[u]), in[v][0..inDeg[v]).
+    private final int[][] out;
+    private final int[][] in;
+    private final int[] outDeg;
+    private final int[] inDeg;
+
+    // Slot of each vertex, members of each slot, and number of vertex edges between slots.
+    private final int[] comp;
+    private final int[][] members;
+    private final int[] size;
+    private final List<Map<Integer, Integer>> succ;
+    private final List<Map<Integer, Integer>> pred;
+    private final int[] ord;
+    private final int[] free;
+    private int freeCount;
+    private int count;
+
+    // Scratch state, cleared after every update.
+    private final boolean[] seenForward;
+    private final boolean[] seenBackward;
+    private final int[] stack;
+    private final int[] local;
+    private final int[] fromTail;
+    private final int[] toHead;
+    private int epoch;
+    private long visits;
+    private long edges;
+
+    public IncrementalCondensation(CsrGraph graph, PerformanceTracker metrics) {
+        this.n = graph.size();
+        this.metrics = metrics;
+
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        out = new int[n][];
+        in = new int[n][];
+        outDeg = new int[n];
+        inDeg = new int[n];
+        for (int v : targets) inDeg[v]++;
+        for (int v = 0; v < n; v++) {
+            out[v] = Arrays.copyOfRange(targets, offsets[v], offsets[v + 1]);
+            outDeg[v] = out[v].length;
+            in[v] = new int[inDeg[v]];
+            inDeg[v] = 0;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
+                in[v][inDeg[v]++] = u;
+            }
+        }
+
+        // Tarjan numbers components so that condensation edges go from lower to higher ids,
+        // so the ids themselves are a valid initial order.
+        Tarjan scc = new Tarjan(graph, metrics);
+        scc.run();
+        comp = Arrays.copyOf(scc.getComponentIds(), n);
+        count = scc.count();
+
+        size = new int[n];
+        for (int v = 0; v < n; v++) size[comp[v]]++;
+        members = new int[n][];
+        for (int c = 0; c < n; c++) members[c] = new int[size[c]];
+        int[] fill = new int[n];
+        for (int v = 0; v < n; v++) members[comp[v]][fill[comp[v]]++] = v;
+
+        succ = new ArrayList<>(n);
+        pred = new ArrayList<>(n);
+        for (int c = 0; c < n; c++) {
+            succ.add(new HashMap<>());
+            pred.add(new HashMap<>());
+        }
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                if (comp[u] != comp[targets[i]]) increment(comp[u], comp[targets[i]]);
+            }
+        }
+
+        ord = new int[n];
+        for (int c = 0; c < n; c++) ord[c] = c;
+        free = new int[n];
+        for (int c = n - 1; c >= count; c--) free[freeCount++] = c;
+
+        seenForward = new boolean[n];
+        seenBackward = new boolean[n];
+        stack = new int[n];
+        local = new int[n];
+        Arrays.fill(local, -1);
+        fromTail = new int[n];
+        toHead = new int[n];
+    }
+
+    public int size() { return n; }
+    public int count() { return count; }
+
+    /** Slot of {@code v}'s component; stable until that component is merged or split. */
+    public int componentOf(int v) {
+        checkVertex(v);
+        return comp[v];
+    }
+
+    /**
+     * Adds the edge {@code u -> v}. If it closes a cycle, the components on that cycle are
+     * merged.
+     */
+    public void addEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        metrics.startTimer();
+        out[u] = append(out[u], outDeg[u]++, v);
+        in[v] = append(in[v], inDeg[v]++, u);
+        int cu = comp[u];
+        int cv = comp[v];
+        if (cu != cv && increment(cu, cv) == 1) connect(cu, cv);
+        report();
+    }
+
+    /**
+     * Removes one copy of the edge {@code u -> v}; returns {@code false} if there is none.
+     * If the edge was inside a component, that component may split.
+     */
+    public boolean removeEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        metrics.startTimer();
+        if (!removeOne(out[u], outDeg[u], v)) {
+            report();
+            return false;
+        }
+        outDeg[u]--;
+        removeOne(in[v], inDeg[v], u);
+        inDeg[v]--;
+
+        int cu = comp[u];
+        int cv = comp[v];
+        if (cu != cv) {
+            decrement(cu, cv);
+        } else if (!reaches(u, v, cu)) {
+            split(cu);
+        }
+        report();
+        return true;
+    }
+
+    /** Live slots in topological order. */
+    public int[] order() {
+        int[] atPosition = new int[n];
+        for (int c = 0; c < n; c++) atPosition[ord[c]] = c;
+        int[] order = new int[count];
+        int k = 0;
+        for (int p = 0; p < n; p++) {
+            if (size[atPosition[p]] > 0) order[k++] = atPosition[p];
+        }
+        return order;
+    }
+
+    /**
+     * Dense component ids ({@code 0..count()-1}) numbered in topological order, the same
+     * convention as {@link org.example.graph.scc.SccAlgorithm#getComponentIds()}.
+     */
+    public int[] componentIds() {
+        int[] rank = ranks();
+        int[] ids = new int[n];
+        for (int v = 0; v < n; v++) ids[v] = rank[comp[v]];
+        return ids;
+    }
+
+    /** Members of each component, indexed by the ids of {@link #componentIds()}. */
+    public List<List<Integer>> components() {
+        List<List<Integer>> result = new ArrayList<>(count);
+        for (int c : order()) {
+            List<Integer> list = new ArrayList<>(size[c]);
+            for (int i = 0; i < size[c]; i++) list.add(members[c][i]);
+            result.add(list);
+        }
+        return result;
+    }
+
+    /** Condensation DAG over the ids of {@link #componentIds()}, with unit weights. */
+    public CsrGraph condensation() {
+        int[] rank = ranks();
+        int[] order = order();
+        int m = 0;
+        for (int c : order) m += succ.get(c).size();
+        CsrGraph.Builder b = new CsrGraph.Builder(count, m);
+        for (int c : order) {
+            for (int t : succ.get(c).keySet()) b.addEdge(rank[c], rank[t], 1.0);
+        }
+        return b.build();
+    }
+
+    private int[] ranks() {
+        int[] rank = new int[n];
+        int[] order = order();
+        for (int i = 0; i < order.length; i++) rank[order[i]] = i;
+        return rank;
+    }
+
+    // Pearce-Kelly: called after recording a new condensation edge a -> b.
+    private void connect(int a, int b) {
+        if (ord[a] < ord[b]) return;
+        int lb = ord[b];
+        int ub = ord[a];
+
+        int[] forward = search(b, ub, true);
+        int[] backward = search(a, lb, false);
+        boolean cycle = seenForward[a];
+
+        int[] onlyBackward = sortByOrd(backward, seenForward);
+        int[] onlyForward = sortByOrd(forward, seenBackward);
+        int[] cycleSlots = cycle ? cycleSlots(forward) : new int[0];
+
+        int[] positions = new int[onlyBackward.length + cycleSlots.length + onlyForward.length];
+        int k = 0;
+        for (int c : forward) positions[k++] = ord[c];
+        for (int c : backward) if (!seenForward[c]) positions[k++] = ord[c];
+        Arrays.sort(positions);
+
+        k = 0;
+        for (int c : onlyBackward) ord[c] = positions[k++];
+        if (cycle) {
+            int survivor = merge(cycleSlots);
+            ord[survivor] = positions[k++];
+            for (int c : cycleSlots) if (c != survivor) ord[c] = positions[k++];
+        }
+        for (int c : onlyForward) ord[c] = positions[k++];
+
+        for (int c : forward) seenForward[c] = false;
+        for (int c : backward) seenBackward[c] = false;
+    }
+
+    // Slots reachable from start (forward) or reaching start (backward) within the bound.
+    private int[] search(int start, int bound, boolean forward) {
+        boolean[] seen = forward ? seenForward : seenBackward;
+        List<Map<Integer, Integer>> adj = forward ? succ : pred;
+        int[] found = new int[8];
+        int foundCount = 0;
+        int top = 0;
+        seen[start] = true;
+        stack[top++] = start;
+        while (top > 0) {
+            int c = stack[--top];
+            found = append(found, foundCount++, c);
+            visits++;
+            for (int t : adj.get(c).keySet()) {
+                edges++;
+                if (seen[t]) continue;
+                if (forward ? ord[t] > bound : ord[t] < bound) continue;
+                seen[t] = true;
+                stack[top++] = t;
+            }
+        }
+        return Arrays.copyOf(found, foundCount);
+    }
+
+    // Slots in `slots` not marked in `exclude`, sorted by their current position.
+    private int[] sortByOrd(int[] slots, boolean[] exclude) {
+        long[] keys = new long[slots.length];
+        int k = 0;
+        for (int c : slots) {
+            if (!exclude[c]) keys[k++] = ((long) ord[c] << 32) | c;
+        }
+        Arrays.sort(keys, 0, k);
+        int[] sorted = new int[k];
+        for (int i = 0; i < k; i++) sorted[i] = (int) keys[i];
+        return sorted;
+    }
+
+    private int[] cycleSlots(int[] forward) {
+        int k = 0;
+        int[] cycle = new int[forward.length];
+        for (int c : forward) if (seenBackward[c]) cycle[k++] = c;
+        return Arrays.copyOf(cycle, k);
+    }
+
+    private boolean onCycle(int c) {
+        return seenForward[c] && seenBackward[c];
+    }
+
+    // Folds the slots of a cycle into the largest of them and frees the rest.
+    private int merge(int[] cycle) {
+        int survivor = cycle[0];
+        for (int c : cycle) if (size[c] > size[survivor]) survivor = c;
+
+        Map<Integer, Integer> survivorSucc = succ.get(survivor);
+        Map<Integer, Integer> survivorPred = pred.get(survivor);
+        for (int c : cycle) {
+            if (c == survivor) continue;
+            for (int i = 0; i < size[c]; i++) {
+                int v = members[c][i];
+                comp[v] = survivor;
+                members[survivor] = append(members[survivor], size[survivor]++, v);
+            }
+            size[c] = 0;
+            members[c] = new int[0];
+
+            for (Map.Entry<Integer, Integer> e : succ.get(c).entrySet()) {
+                int t = e.getKey();
+                pred.get(t).remove(c);
+                if (onCycle(t)) continue;
+                survivorSucc.merge(t, e.getValue(), Integer::sum);
+                pred.get(t).merge(survivor, e.getValue(), Integer::sum);
+            }
+            for (Map.Entry<Integer, Integer> e : pred.get(c).entrySet()) {
+                int t = e.getKey();
+                succ.get(t).remove(c);
+                if (onCycle(t)) continue;
+                survivorPred.merge(t, e.getValue(), Integer::sum);
+                succ.get(t).merge(survivor, e.getValue(), Integer::sum);
+            }
+            succ.get(c).clear();
+            pred.get(c).clear();
+            free[freeCount++] = c;
+            count--;
+        }
+        return survivor;
+    }
+
+    // Bidirectional search inside slot s: forwards from u, backwards from v, always growing
+    // the smaller frontier. If u still reaches v, removing u -> v left the component intact.
+    private boolean reaches(int u, int v, int s) {
+        if (u == v) return true;
+        if (++epoch == 0) {
+            Arrays.fill(fromTail, 0);
+            Arrays.fill(toHead, 0);
+            epoch = 1;
+        }
+        int[] forward = {u};
+        int[] backward = {v};
+        int fHead = 0, fTail = 1, bHead = 0, bTail = 1;
+        fromTail[u] = epoch;
+        toHead[v] = epoch;
+        while (fHead < fTail && bHead < bTail) {
+            visits++;
+            if (fTail - fHead <= bTail - bHead) {
+                int x = forward[fHead++];
+                for (int i = 0; i < outDeg[x]; i++) {
+                    int y = out[x][i];
+                    edges++;
+                    if (comp[y] != s || fromTail[y] == epoch) continue;
+                    if (toHead[y] == epoch) return true;
+                    fromTail[y] = epoch;
+                    forward = append(forward, fTail++, y);
+                }
+            } else {
+                int x = backward[bHead++];
+                for (int i = 0; i < inDeg[x]; i++) {
+                    int y = in[x][i];
+                    edges++;
+                    if (comp[y] != s || toHead[y] == epoch) continue;
+                    if (fromTail[y] == epoch) return true;
+                    toHead[y] = epoch;
+                    backward = append(backward, bTail++, y);
+                }
+            }
+        }
+        return false;
+    }
+
+    // Re-runs Tarjan on the members of slot s and, if it fell apart, gives every piece but
+    // the first its own slot and re-inserts the pieces' condensation edges.
+    private void split(int s) {
+        int k = size[s];
+        int[] vertices = Arrays.copyOf(members[s], k);
+        int[] pieceOf = new int[k];
+        int pieces = tarjan(vertices, pieceOf);
+        if (pieces == 1) {
+            for (int v : vertices) local[v] = -1;
+            return;
+        }
+
+        // Tarjan emits pieces sinks first, so piece pieces-1 is a source. Give the pieces
+        // their slots' positions in that order to start close to a valid order.
+        int[] slots = new int[pieces];
+        int[] positions = new int[pieces];
+        slots[0] = s;
+        positions[0] = ord[s];
+        for (int p = 1; p < pieces; p++) {
+            slots[p] = free[--freeCount];
+            positions[p] = ord[slots[p]];
+        }
+        Arrays.sort(positions);
+        for (int p = 0; p < pieces; p++) ord[slots[p]] = positions[pieces - 1 - p];
+
+        for (Map.Entry<Integer, Integer> e : succ.get(s).entrySet()) pred.get(e.getKey()).remove(s);
+        for (Map.Entry<Integer, Integer> e : pred.get(s).entrySet()) succ.get(e.getKey()).remove(s);
+        succ.get(s).clear();
+        pred.get(s).clear();
+
+        int[] pieceSize = new int[pieces];
+        for (int i = 0; i < k; i++) pieceSize[pieceOf[i]]++;
+        for (int p = 0; p < pieces; p++) {
+            members[slots[p]] = new int[pieceSize[p]];
+            size[slots[p]] = 0;
+        }
+        for (int i = 0; i < k; i++) {
+            int c = slots[pieceOf[i]];
+            comp[vertices[i]] = c;
+            members[c][size[c]++] = vertices[i];
+        }
+        count += pieces - 1;
+
+        // local[] still marks the old members, which tells internal in-edges from external.
+        for (int u : vertices) {
+            for (int i = 0; i < outDeg[u]; i++) {
+                int v = out[u][i];
+                edges++;
+                if (comp[u] != comp[v] && increment(comp[u], comp[v]) == 1) connect(comp[u], comp[v]);
+            }
+            for (int i = 0; i < inDeg[u]; i++) {
+                int w = in[u][i];
+                edges++;
+                if (local[w] == -1 && increment(comp[w], comp[u]) == 1) connect(comp[w], comp[u]);
+            }
+        }
+        for (int v : vertices) local[v] = -1;
+    }
+
+    // Iterative Tarjan over the vertices of one slot, numbering pieces sinks first. Leaves
+    // local[] set for those vertices.
+    private int tarjan(int[] vertices, int[] pieceOf) {
+        int k = vertices.length;
+        for (int i = 0; i < k; i++) local[vertices[i]] = i;
+        int[] index = new int[k];
+        int[] low = new int[k];
+        int[] cursor = new int[k];
+        int[] callStack = new int[k];
+        int[] sccStack = new int[k];
+        boolean[] onStack = new boolean[k];
+        Arrays.fill(index, -1);
+        int counter = 0;
+        int sp = 0;
+        int pieces = 0;
+
+        for (int r = 0; r < k; r++) {
+            if (index[r] != -1) continue;
+            int top = 0;
+            index[r] = low[r] = counter++;
+            sccStack[sp++] = r;
+            onStack[r] = true;
+            callStack[top++] = r;
+            visits++;
+
+            while (top > 0) {
+                int x = callStack[top - 1];
+                int u = vertices[x];
+                if (cursor[x] < outDeg[u]) {
+                    int y = local[out[u][cursor[x]++]];
+                    edges++;
+                    if (y == -1) continue;
+                    if (index[y] == -1) {
+                        index[y] = low[y] = counter++;
+                        sccStack[sp++] = y;
+                        onStack[y] = true;
+                        callStack[top++] = y;
+                        visits++;
+                    } else if (onStack[y] && index[y] < low[x]) {
+                        low[x] = index[y];
+                    }
+                } else {
+                    top--;
+                    if (top > 0) {
+                        int parent = callStack[top - 1];
+                        if (low[x] < low[parent]) low[parent] = low[x];
+                    }
+                    if (low[x] == index[x]) {
+                        int y;
+                        do {
+                            y = sccStack[--sp];
+                            onStack[y] = false;
+                            pieceOf[y] = pieces;
+                        } while (y != x);
+                        pieces++;
+                    }
+                }
+            }
+        }
+        return pieces;
+    }
+
+    private int increment(int a, int b) {
+        pred.get(b).merge(a, 1, Integer::sum);
+        return succ.get(a).merge(b, 1, Integer::sum);
+    }
+
+    private void decrement(int a, int b) {
+        if (succ.get(a).merge(b, -1, Integer::sum) == 0) {
+            succ.get(a).remove(b);
+            pred.get(b).remove(a);
+        } else {
+            pred.get(b).merge(a, -1, Integer::sum);
+        }
+    }
+
+    private void report() {
+        metrics.addDfsVisits(visits);
+        metrics.addEdgesExplored(edges);
+        visits = 0;
+        edges = 0;
+        metrics.stopTimer();
+    }
+
+    private void checkVertex(int v) {
+        if (v < 0 || v >= n) throw new IllegalArgumentException("Invalid vertex index");
+    }
+
+    private static int[] append(int[] array, int at, int value) {
+        if (at == array.length) array = Arrays.copyOf(array, Math.max(4, 2 * at));
+        array[at] = value;
+        return array;
+    }
+
+    // Swap-removes one occurrence of value from array[0..length).
+    private static boolean removeOne(int[] array, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (array[i] == value) {
+                array[i] = array[length - 1];
+                return true;
+            }
+        }
+        return false;
+    }
+}
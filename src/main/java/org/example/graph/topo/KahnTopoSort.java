@@ -1,61 +1,93 @@
 package org.example.graph.topo;
 
 import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
 import java.util.*;
 
 public class KahnTopoSort {
-    private final List<Set<Integer>> dag;
+    private final CsrGraph dag;
     private final PerformanceTracker metrics;
     private List<Integer> topoOrder;
+    private int[] orderIds;
 
     public KahnTopoSort(List<Set<Integer>> dag, PerformanceTracker metrics) {
+        this(toCsr(dag), metrics);
+    }
+
+    public KahnTopoSort(CsrGraph dag, PerformanceTracker metrics) {
         this.dag = dag;
         this.metrics = metrics;
     }
 
     public List<Integer> order() {
+        int[] ids = orderArray();
+        topoOrder = new ArrayList<>(ids.length);
+        for (int v : ids) topoOrder.add(v);
+        return topoOrder;
+    }
+
+    /**
+     * Same order as {@link #order()} without boxing. If the graph has a cycle the array
+     * is shorter than the vertex count.
+     */
+    public int[] orderArray() {
         metrics.startTimer();
 
         int n = dag.size();
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
         int[] inDegree = new int[n];
-        for (int u = 0; u < n; u++) {
-            for (int v : dag.get(u)) {
-                inDegree[v]++;
-            }
+        for (int v : targets) {
+            inDegree[v]++;
         }
 
-        Queue<Integer> queue = new ArrayDeque<>();
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
         for (int i = 0; i < n; i++) {
             if (inDegree[i] == 0) {
-                queue.add(i);
-                metrics.incPushes();
+                queue[tail++] = i;
             }
         }
 
-        topoOrder = new ArrayList<>();
-        while (!queue.isEmpty()) {
-            int u = queue.remove();
-            metrics.incPops();
-            topoOrder.add(u);
+        while (head < tail) {
+            int u = queue[head++];
 
-            for (int v : dag.get(u)) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int v = targets[i];
                 inDegree[v]--;
                 if (inDegree[v] == 0) {
-                    queue.add(v);
-                    metrics.incPushes();
+                    queue[tail++] = v;
                 }
             }
         }
 
+        orderIds = tail == n ? queue : Arrays.copyOf(queue, tail);
+        topoOrder = null;
+
+        // Every vertex that entered the queue was also popped.
+        metrics.addPushes(tail);
+        metrics.addPops(tail);
         metrics.stopTimer();
-        return topoOrder;
+        return orderIds;
     }
 
     public boolean isDag() {
-        return topoOrder != null && topoOrder.size() == dag.size();
+        return orderIds != null && orderIds.length == dag.size();
     }
 
     public List<Integer> getOrder() {
+        if (topoOrder == null && orderIds != null) {
+            topoOrder = new ArrayList<>(orderIds.length);
+            for (int v : orderIds) topoOrder.add(v);
+        }
         return topoOrder;
     }
+
+    private static CsrGraph toCsr(List<Set<Integer>> dag) {
+        CsrGraph.Builder b = new CsrGraph.Builder(dag.size(), CondensationBuilder.edgeCount(dag));
+        for (int u = 0; u < dag.size(); u++) {
+            for (int v : dag.get(u)) b.addEdge(u, v, 1.0);
+        }
+        return b.build();
+    }
 }
@@ -0,0 +1,188 @@
+package org.example.graph.topo;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Level-synchronous Kahn sort on a {@link ForkJoinPool}. Level 0 is every vertex without
+ * in-edges; level k + 1 is every vertex whose last in-edge comes from level k, i.e. the
+ * length of the longest path reaching it. Each frontier is expanded in parallel chunks
+ * with atomic in-degree decrements, and the next frontier is written straight behind the
+ * current one in the order array.
+ * <p>
+ * Vertices within a level are sorted, so the order does not depend on the thread count.
+ * All vertices of one level are mutually independent, which makes {@link #levelOffsets()}
+ * a schedule of parallel waves.
+ */
+public class ParallelTopoSort {
+    static final int FRONTIER_CHUNK = 1 << 11;
+
+    private final CsrGraph dag;
+    private final PerformanceTracker metrics;
+    private final int parallelism;
+
+    private int[] orderIds;
+    private int[] levels;
+    private int[] levelOffsets;
+    private List<Integer> topoOrder;
+
+    public ParallelTopoSort(CsrGraph dag, PerformanceTracker metrics) {
+        this(dag, metrics, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelTopoSort(CsrGraph dag, PerformanceTracker metrics, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1");
+        this.dag = dag;
+        this.metrics = metrics;
+        this.parallelism = parallelism;
+    }
+
+    public List<Integer> order() {
+        int[] ids = orderArray();
+        topoOrder = new ArrayList<>(ids.length);
+        for (int v : ids) topoOrder.add(v);
+        return topoOrder;
+    }
+
+    /**
+     * Vertices level by level. If the graph has a cycle the array is shorter than the vertex
+     * count, as with {@link KahnTopoSort#orderArray()}.
+     */
+    public int[] orderArray() {
+        metrics.startTimer();
+
+        int n = dag.size();
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+        for (int v : targets) inDegree.getAndIncrement(v);
+
+        int[] order = new int[n];
+        levels = new int[n];
+        Arrays.fill(levels, -1);
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree.getPlain(v) == 0) order[tail++] = v;
+        }
+
+        PerformanceTracker counts = PerformanceTracker.concurrent();
+        IntBuf offsetsOut = new IntBuf();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int head = 0;
+            int level = 0;
+            while (head < tail) {
+                offsetsOut.add(head);
+                int from = head;
+                int to = tail;
+                if (to - from > FRONTIER_CHUNK) Arrays.parallelSort(order, from, to);
+                else Arrays.sort(order, from, to);
+                for (int i = from; i < to; i++) levels[order[i]] = level;
+
+                AtomicInteger nextTail = new AtomicInteger(to);
+                Expand root = new Expand(order, from, to, offsets, targets, inDegree, nextTail, counts);
+                if (to - from > FRONTIER_CHUNK) pool.invoke(root);
+                else root.compute();
+                head = to;
+                tail = nextTail.get();
+                level++;
+            }
+            offsetsOut.add(tail);
+        } finally {
+            pool.shutdown();
+        }
+
+        orderIds = tail == n ? order : Arrays.copyOf(order, tail);
+        levelOffsets = offsetsOut.toArray();
+        topoOrder = null;
+
+        metrics.addPushes(tail);
+        metrics.addPops(tail);
+        metrics.addEdgesExplored(counts.getEdgesExplored());
+        metrics.stopTimer();
+        return orderIds;
+    }
+
+    /** Level of every vertex after {@link #orderArray()}; -1 for vertices on or behind a cycle. */
+    public int[] levels() { return levels; }
+
+    /** Level k is {@code orderArray()[levelOffsets()[k] .. levelOffsets()[k + 1])}. */
+    public int[] levelOffsets() { return levelOffsets; }
+
+    public int levelCount() { return levelOffsets == null ? 0 : levelOffsets.length - 1; }
+
+    public boolean isDag() {
+        return orderIds != null && orderIds.length == dag.size();
+    }
+
+    public List<Integer> getOrder() {
+        if (topoOrder == null && orderIds != null) {
+            topoOrder = new ArrayList<>(orderIds.length);
+            for (int v : orderIds) topoOrder.add(v);
+        }
+        return topoOrder;
+    }
+
+    private static final class Expand extends RecursiveAction {
+        private final int[] order;
+        private final int lo;
+        private final int hi;
+        private final int[] offsets;
+        private final int[] targets;
+        private final AtomicIntegerArray inDegree;
+        private final AtomicInteger nextTail;
+        private final PerformanceTracker counts;
+
+        Expand(int[] order, int lo, int hi, int[] offsets, int[] targets, AtomicIntegerArray inDegree,
+               AtomicInteger nextTail, PerformanceTracker counts) {
+            this.order = order;
+            this.lo = lo;
+            this.hi = hi;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.inDegree = inDegree;
+            this.nextTail = nextTail;
+            this.counts = counts;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > FRONTIER_CHUNK) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Expand(order, lo, mid, offsets, targets, inDegree, nextTail, counts),
+                        new Expand(order, mid, hi, offsets, targets, inDegree, nextTail, counts));
+                return;
+            }
+            IntBuf out = new IntBuf();
+            long edges = 0;
+            for (int i = lo; i < hi; i++) {
+                int u = order[i];
+                for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                    int v = targets[k];
+                    // Exactly one decrement sees zero, so each vertex is emitted once.
+                    if (inDegree.decrementAndGet(v) == 0) out.add(v);
+                }
+                edges += offsets[u + 1] - offsets[u];
+            }
+            // The next frontier starts past the current one, so this never overwrites it.
+            int at = nextTail.getAndAdd(out.size);
+            System.arraycopy(out.data, 0, order, at, out.size);
+            counts.addEdgesExplored(edges);
+        }
+    }
+
+    private static final class IntBuf {
+        int[] data = new int[16];
+        int size;
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        int[] toArray() { return Arrays.copyOf(data, size); }
+    }
+}
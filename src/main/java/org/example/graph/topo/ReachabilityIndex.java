@@ -0,0 +1,247 @@
+package org.example.graph.topo;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import java.util.Arrays;
+
+/**
+ * Reachability labels for a DAG such as a condensation, so that most "does {@code u} reach
+ * {@code v}" queries are answered from a few integers per node without touching the graph.
+ * <p>
+ * Small DAGs (at most {@code closureLimit} nodes) get the full transitive closure as one
+ * bit row per node, built in reverse topological order by OR-ing the successors' rows, and
+ * every query is a single bit test.
+ * <p>
+ * Larger DAGs get GRAIL-style labels. Each node has a topological level (longest path from a
+ * root, in edges) and {@code labels} intervals {@code [low, post]}, one per randomised DFS:
+ * {@code post} is the node's post-order rank and {@code low} the smallest rank among its
+ * descendants. If {@code u} reaches {@code v}, {@code u}'s level is lower and every interval
+ * of {@code u} contains {@code v}'s, so a failed test proves there is no path. The first
+ * DFS's pre- and post-order also prove paths along its spanning forest. Queries that no
+ * label decides fall back to a DFS that prunes every branch the labels rule out.
+ * <p>
+ * The index is immutable after construction; queries may run on any number of threads.
+ * Build time, allocation and {@link #indexBytes()} are recorded as the
+ * {@code reachability_index} phase.
+ */
+public class ReachabilityIndex {
+    public static final int DEFAULT_LABELS = 3;
+    public static final int DEFAULT_CLOSURE_LIMIT = 1 << 12;
+
+    private final CsrGraph dag;
+    private final int n;
+    private final int k;
+
+    // Closure mode: row u holds bit v iff u reaches v.
+    private final long[] closure;
+    private final int words;
+
+    // Label mode: node v's intervals at labels[2k v .. 2k v + 2k), as (low, post) pairs.
+    private final int[] labels;
+    private final int[] level;
+    private final int[] pre;
+    private final ThreadLocal<Scratch> scratch;
+
+    public ReachabilityIndex(CsrGraph dag, int[] topoOrder, PerformanceTracker metrics) {
+        this(dag, topoOrder, DEFAULT_LABELS, DEFAULT_CLOSURE_LIMIT, metrics);
+    }
+
+    public ReachabilityIndex(CsrGraph dag, int[] topoOrder, int labels, int closureLimit, PerformanceTracker metrics) {
+        if (labels < 1) throw new IllegalArgumentException("Need at least one label");
+        this.dag = dag;
+        this.n = dag.size();
+        if (topoOrder.length != n) throw new IllegalArgumentException("Graph is not a DAG");
+        this.k = labels;
+
+        try (PerformanceTracker.Phase phase = metrics.phase("reachability_index")) {
+            metrics.startTimer();
+            if (n <= closureLimit && (long) n * ((n + 63) >>> 6) <= Integer.MAX_VALUE - 8) {
+                this.words = (n + 63) >>> 6;
+                this.closure = buildClosure(topoOrder);
+                this.labels = null;
+                this.level = null;
+                this.pre = null;
+                this.scratch = null;
+                metrics.addEdgesExplored(dag.edgeCount());
+            } else {
+                this.words = 0;
+                this.closure = null;
+                this.level = levels(topoOrder);
+                this.labels = new int[2 * k * n];
+                this.pre = new int[n];
+                int[] post = new int[n];
+                for (int i = 0; i < k; i++) {
+                    traverse(i, post, i == 0 ? pre : null);
+                    lows(i, post, topoOrder);
+                }
+                this.scratch = ThreadLocal.withInitial(() -> new Scratch(n));
+                metrics.addDfsVisits((long) k * n);
+                metrics.addEdgesExplored(2L * k * dag.edgeCount());
+            }
+            metrics.stopTimer();
+            phase.retain(indexBytes());
+        }
+    }
+
+    public int size() { return n; }
+    public boolean hasClosure() { return closure != null; }
+
+    /** Bytes held by the index itself, not counting the graph. */
+    public long indexBytes() {
+        if (closure != null) return 8L * closure.length;
+        return 4L * (labels.length + level.length + pre.length);
+    }
+
+    public boolean reaches(int u, int v) {
+        if (u == v) return true;
+        if (closure != null) return (closure[u * words + (v >>> 6)] & (1L << v)) != 0;
+        if (!mayReach(u, v)) return false;
+        if (treeReaches(u, v)) return true;
+
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        Scratch s = scratch.get();
+        int epoch = s.next();
+        int top = 0;
+        s.stack[top++] = u;
+        s.seen[u] = epoch;
+        while (top > 0) {
+            int x = s.stack[--top];
+            for (int i = offsets[x]; i < offsets[x + 1]; i++) {
+                int c = targets[i];
+                if (c == v || treeReaches(c, v)) return true;
+                if (s.seen[c] != epoch && mayReach(c, v)) {
+                    s.seen[c] = epoch;
+                    s.stack[top++] = c;
+                }
+            }
+        }
+        return false;
+    }
+
+    // False means there is certainly no path from u to v.
+    private boolean mayReach(int u, int v) {
+        if (level[u] >= level[v]) return false;
+        int a = 2 * k * u;
+        int b = 2 * k * v;
+        for (int i = 0; i < 2 * k; i += 2) {
+            if (labels[b + i] < labels[a + i] || labels[b + i + 1] > labels[a + i + 1]) return false;
+        }
+        return true;
+    }
+
+    // v is a descendant of u in the first DFS forest.
+    private boolean treeReaches(int u, int v) {
+        return pre[u] <= pre[v] && labels[2 * k * v + 1] <= labels[2 * k * u + 1];
+    }
+
+    private long[] buildClosure(int[] topoOrder) {
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        long[] rows = new long[n * words];
+        for (int t = n - 1; t >= 0; t--) {
+            int u = topoOrder[t];
+            int row = u * words;
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int c = targets[i];
+                int child = c * words;
+                for (int w = 0; w < words; w++) rows[row + w] |= rows[child + w];
+                rows[row + (c >>> 6)] |= 1L << c;
+            }
+        }
+        return rows;
+    }
+
+    private int[] levels(int[] topoOrder) {
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        int[] lv = new int[n];
+        for (int u : topoOrder) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int c = targets[i];
+                if (lv[u] + 1 > lv[c]) lv[c] = lv[u] + 1;
+            }
+        }
+        return lv;
+    }
+
+    // Post-order ranks of one DFS over the whole DAG. Roots and children are visited from a
+    // per-traversal pseudo-random starting offset, so the traversals differ.
+    private void traverse(int round, int[] post, int[] preOrder) {
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        boolean[] seen = new boolean[n];
+        int[] stack = new int[n];
+        int[] cursor = new int[n];
+        int preRank = 0, postRank = 0;
+        int rootStart = (int) Long.remainderUnsigned(hash(round, -1), n);
+        for (int r = 0; r < n; r++) {
+            int root = (rootStart + r) % n;
+            if (seen[root]) continue;
+            int top = 0;
+            stack[top++] = root;
+            seen[root] = true;
+            cursor[root] = 0;
+            if (preOrder != null) preOrder[root] = preRank++;
+            while (top > 0) {
+                int u = stack[top - 1];
+                int deg = offsets[u + 1] - offsets[u];
+                if (cursor[u] == deg) {
+                    post[u] = postRank++;
+                    top--;
+                    continue;
+                }
+                int start = (int) Long.remainderUnsigned(hash(round, u), deg);
+                int c = targets[offsets[u] + (start + cursor[u]++) % deg];
+                if (!seen[c]) {
+                    seen[c] = true;
+                    cursor[c] = 0;
+                    if (preOrder != null) preOrder[c] = preRank++;
+                    stack[top++] = c;
+                }
+            }
+        }
+    }
+
+    // low[u] = min(post[u], low of every successor), in reverse topological order.
+    private void lows(int round, int[] post, int[] topoOrder) {
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        for (int t = n - 1; t >= 0; t--) {
+            int u = topoOrder[t];
+            int low = post[u];
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int l = labels[2 * (k * targets[i] + round)];
+                if (l < low) low = l;
+            }
+            labels[2 * (k * u + round)] = low;
+            labels[2 * (k * u + round) + 1] = post[u];
+        }
+    }
+
+    private static long hash(int round, int node) {
+        long z = ((long) round << 32 | (node & 0xffffffffL)) + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Scratch {
+        final int[] seen;
+        final int[] stack;
+        int epoch;
+
+        Scratch(int n) {
+            seen = new int[n];
+            stack = new int[n];
+        }
+
+        int next() {
+            if (++epoch == 0) {
+                Arrays.fill(seen, 0);
+                epoch = 1;
+            }
+            return epoch;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.graph.topo;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transitive reduction of a DAG: drops every edge {@code u -> v} for which another path
+ * from {@code u} to {@code v} exists. The result has the same reachability with the fewest
+ * edges, so it suits unweighted analyses such as topological sorting and reachability;
+ * weighted path lengths generally change.
+ * <p>
+ * {@code u -> v} is redundant iff {@code v} is a strict descendant of one of {@code u}'s
+ * successors. Successors are visited in topological order, so a redundant successor is
+ * already covered when it comes up and its row need not be merged. Descendant sets are
+ * bit rows built in reverse topological order, one block of
+ * {@code 64 * words} target columns at a time, where a block covers a range of topological
+ * positions: only vertices ordered before the range can reach into it, so a block needs
+ * rows for that prefix only. Blocks are independent and run in parallel on a
+ * {@link ForkJoinPool}, each deciding exactly the edges whose target falls into it. The
+ * work is O(V (V + E) / 64) word operations, with at most {@link #BLOCK_BUDGET} words of
+ * rows per running block.
+ */
+public class TransitiveReduction {
+    static final int BLOCK_BUDGET = 1 << 22;
+
+    private final CsrGraph dag;
+    private final PerformanceTracker metrics;
+    private final int parallelism;
+    private int removed;
+
+    public TransitiveReduction(CsrGraph dag, PerformanceTracker metrics) {
+        this(dag, metrics, Runtime.getRuntime().availableProcessors());
+    }
+
+    public TransitiveReduction(CsrGraph dag, PerformanceTracker metrics, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1");
+        this.dag = dag;
+        this.metrics = metrics;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reduces a condensation as numbered by the SCC engines, whose ids are already a
+     * topological order.
+     */
+    public CsrGraph reduce() {
+        int[] identity = new int[dag.size()];
+        for (int v = 0; v < identity.length; v++) identity[v] = v;
+        return reduce(identity);
+    }
+
+    /** The reduced DAG; kept edges stay in their original order and keep their weights. */
+    public CsrGraph reduce(int[] topoOrder) {
+        int n = dag.size();
+        if (topoOrder.length != n) throw new IllegalArgumentException("Graph is not a DAG");
+        try (PerformanceTracker.Phase _ = metrics.phase("transitive_reduction")) {
+            metrics.startTimer();
+            int[] offsets = dag.offsets();
+            int[] targets = dag.targets();
+            double[] weights = dag.weights();
+
+            int[] position = new int[n];
+            for (int p = 0; p < n; p++) position[topoOrder[p]] = p;
+            int words = (int) Math.max(1, Math.min((n + 63L) / 64, BLOCK_BUDGET / Math.max(n, 1)));
+            int columns = 64 * words;
+            int blocks = (n + columns - 1) / columns;
+
+            // Each row's edges as (target position, edge index), by ascending position.
+            long[] byPosition = new long[targets.length];
+            for (int u = 0; u < n; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) byPosition[i] = (long) position[targets[i]] << 32 | i;
+                Arrays.sort(byPosition, offsets[u], offsets[u + 1]);
+            }
+
+            boolean[] redundant = new boolean[targets.length];
+            LongAdder scanned = new LongAdder();
+            Blocks root = new Blocks(0, blocks, words, topoOrder, offsets, byPosition, redundant, scanned);
+            if (blocks > 1 && parallelism > 1) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                try {
+                    pool.invoke(root);
+                } finally {
+                    pool.shutdown();
+                }
+            } else {
+                root.compute();
+            }
+
+            int[] outOffsets = new int[n + 1];
+            int kept = 0;
+            for (int i = 0; i < redundant.length; i++) {
+                if (!redundant[i]) kept++;
+            }
+            int[] outTargets = new int[kept];
+            double[] outWeights = new double[kept];
+            int e = 0;
+            for (int u = 0; u < n; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    if (redundant[i]) continue;
+                    outTargets[e] = targets[i];
+                    outWeights[e++] = weights[i];
+                }
+                outOffsets[u + 1] = e;
+            }
+            removed = targets.length - kept;
+
+            metrics.addEdgesExplored(scanned.sum());
+            metrics.stopTimer();
+            return new CsrGraph(n, outOffsets, outTargets, outWeights);
+        }
+    }
+
+    /** Edges dropped by the last {@link #reduce(int[])}. */
+    public int removedEdges() { return removed; }
+
+    private static final class Blocks extends RecursiveAction {
+        private final int lo;
+        private final int hi;
+        private final int words;
+        private final int[] order;
+        private final int[] offsets;
+        private final long[] byPosition;
+        private final boolean[] redundant;
+        private final LongAdder scanned;
+
+        Blocks(int lo, int hi, int words, int[] order, int[] offsets, long[] byPosition,
+               boolean[] redundant, LongAdder scanned) {
+            this.lo = lo;
+            this.hi = hi;
+            this.words = words;
+            this.order = order;
+            this.offsets = offsets;
+            this.byPosition = byPosition;
+            this.redundant = redundant;
+            this.scanned = scanned;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Blocks(lo, mid, words, order, offsets, byPosition, redundant, scanned),
+                        new Blocks(mid, hi, words, order, offsets, byPosition, redundant, scanned));
+                return;
+            }
+            int start = lo * 64 * words;
+            int end = Math.min(order.length, start + 64 * words);
+            // rows[p]: descendants of order[p] whose position lies in [start, end).
+            long[] rows = new long[end * words];
+            long edges = 0;
+            for (int p = end - 1; p >= 0; p--) {
+                int u = order[p];
+                int row = p * words;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int q = (int) (byPosition[i] >>> 32);
+                    if (q >= end) break;
+                    int bit = q - start;
+                    if (bit >= 0) {
+                        long mask = 1L << bit;
+                        if ((rows[row + (bit >>> 6)] & mask) != 0) {
+                            // Reached through an earlier successor, whose row covers this one's.
+                            redundant[(int) byPosition[i]] = true;
+                            continue;
+                        }
+                        rows[row + (bit >>> 6)] |= mask;
+                    }
+                    int child = q * words;
+                    for (int w = 0; w < words; w++) rows[row + w] |= rows[child + w];
+                }
+                edges += offsets[u + 1] - offsets[u];
+            }
+            scanned.add(edges);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.io;
+
+import org.example.model.CsrGraph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads graphs written by {@link BinaryGraphWriter}. Each array is memory-mapped with
+ * {@link FileChannel#map} and bulk-copied into the {@link CsrGraph}, so loading costs
+ * little more than the page-ins; the only per-element work is a bounds check of the
+ * offsets and targets. Arrays under 64 KiB are read with a positional read instead.
+ */
+public class BinaryGraphStream implements GraphSource {
+    // Mapped windows stay well below the 2 GiB limit of a single MappedByteBuffer.
+    private static final long WINDOW_BYTES = 1L << 30;
+    // Below this size a positional read is cheaper than setting up a mapping.
+    private static final int SMALL_BYTES = 1 << 16;
+
+    private final ByteBuffer small = ByteBuffer.allocateDirect(SMALL_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final long size;
+    private long position;
+
+    public BinaryGraphStream(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            int[] header = readInts(2);
+            if (header[0] != BinaryGraphWriter.MAGIC)
+                throw new IOException("Not a binary graph file: " + path);
+            if (header[1] != BinaryGraphWriter.VERSION)
+                throw new IOException("Unsupported binary graph version " + header[1] + " in " + path);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < size;
+    }
+
+    @Override
+    public CsrGraph next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        try {
+            return readGraph();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private CsrGraph readGraph() throws IOException {
+        int[] header = readInts(2);
+        int n = header[0];
+        int m = header[1];
+        // Check the header against the bytes left before allocating anything it sizes.
+        long end = position + 4L * (n + 1L) + 4L * m;
+        if ((end & 7) != 0) end += 4;
+        end += 8L * m;
+        if (n < 0 || m < 0 || n > Integer.MAX_VALUE - 8 || end > size)
+            throw new IOException("Corrupt graph header at byte " + (position - 8) + ": V=" + n + ", M=" + m
+                    + " needs " + (end - position) + " bytes, " + (size - position) + " left");
+
+        int[] offsets = readInts(n + 1);
+        int[] targets = readInts(m);
+        if ((position & 7) != 0) position += 4;
+        double[] weights = readDoubles(m);
+
+        if (offsets[0] != 0 || offsets[n] != m) throw new IOException("Corrupt offsets in binary graph");
+        for (int v = 0; v < n; v++) {
+            if (offsets[v] > offsets[v + 1]) throw new IOException("Corrupt offsets in binary graph");
+        }
+        for (int t : targets) {
+            if (t < 0 || t >= n) throw new IOException("Corrupt edge target in binary graph");
+        }
+        return new CsrGraph(n, offsets, targets, weights);
+    }
+
+    private int[] readInts(int count) throws IOException {
+        int[] out = new int[count];
+        for (int i = 0; i < count; ) {
+            int chunk = (int) Math.min(count - i, WINDOW_BYTES / 4);
+            window(4L * chunk).asIntBuffer().get(out, i, chunk);
+            i += chunk;
+        }
+        return out;
+    }
+
+    private double[] readDoubles(int count) throws IOException {
+        double[] out = new double[count];
+        for (int i = 0; i < count; ) {
+            int chunk = (int) Math.min(count - i, WINDOW_BYTES / 8);
+            window(8L * chunk).asDoubleBuffer().get(out, i, chunk);
+            i += chunk;
+        }
+        return out;
+    }
+
+    private ByteBuffer window(long bytes) throws IOException {
+        if (position + bytes > size) throw new IOException("Truncated binary graph file");
+        if (bytes <= SMALL_BYTES) {
+            small.clear().limit((int) bytes);
+            while (small.hasRemaining()) {
+                if (channel.read(small, position + small.position()) < 0)
+                    throw new IOException("Truncated binary graph file");
+            }
+            position += bytes;
+            return small.flip();
+        }
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, bytes);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        position += bytes;
+        return window;
+    }
+}
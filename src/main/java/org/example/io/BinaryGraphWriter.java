@@ -0,0 +1,91 @@
+package org.example.io;
+
+import org.example.model.CsrGraph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes graphs in the binary CSR format read by {@link BinaryGraphStream}. All values are
+ * little-endian.
+ * <pre>
+ * file   := magic:int32 ("CSRG") version:int32 graph*
+ * graph  := V:int32 M:int32 offsets:int32[V+1] targets:int32[M] pad:0|4 bytes weights:float64[M]
+ * </pre>
+ * The padding keeps every weights array 8-byte aligned within the file. Graphs follow each
+ * other until end of file.
+ */
+public class BinaryGraphWriter implements Closeable {
+    static final int MAGIC = 0x47525343; // "CSRG" read as a little-endian int
+    static final int VERSION = 1;
+
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private long position;
+
+    public BinaryGraphWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buf.putInt(MAGIC).putInt(VERSION);
+        position = 8;
+    }
+
+    public void write(CsrGraph g) throws IOException {
+        int n = g.size();
+        int m = g.edgeCount();
+        putInt(n);
+        putInt(m);
+        putInts(g.offsets(), n + 1);
+        putInts(g.targets(), m);
+        if ((position & 7) != 0) putInt(0);
+
+        double[] weights = g.weights();
+        for (int i = 0; i < m; ) {
+            if (buf.remaining() < 8) flush();
+            int count = Math.min(m - i, buf.remaining() / 8);
+            buf.asDoubleBuffer().put(weights, i, count);
+            buf.position(buf.position() + count * 8);
+            i += count;
+        }
+        position += 8L * m;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void putInt(int v) throws IOException {
+        if (buf.remaining() < 4) flush();
+        buf.putInt(v);
+        position += 4;
+    }
+
+    private void putInts(int[] values, int length) throws IOException {
+        for (int i = 0; i < length; ) {
+            if (buf.remaining() < 4) flush();
+            int count = Math.min(length - i, buf.remaining() / 4);
+            buf.asIntBuffer().put(values, i, count);
+            buf.position(buf.position() + count * 4);
+            i += count;
+        }
+        position += 4L * length;
+    }
+
+    private void flush() throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) channel.write(buf);
+        buf.clear();
+    }
+}
@@ -1,53 +1,54 @@
 package org.example.io;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.model.CsrGraph;
 import org.example.model.Graph;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 public class GraphReader {
-    public static List<Graph> loadAll(String path) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(new File(path));
-
-        List<Graph> list = new ArrayList<>();
+    public static final String BINARY_EXTENSION = ".csrg";
+
+    /**
+     * Opens {@code path} as a binary CSR file if it ends in {@value #BINARY_EXTENSION},
+     * otherwise as JSON.
+     */
+    public static GraphSource open(String path) throws IOException {
+        if (path.endsWith(BINARY_EXTENSION)) return new BinaryGraphStream(Path.of(path));
+        return stream(path);
+    }
 
-        if (root.has("graphs")) {
-            for (JsonNode gNode : root.get("graphs")) {
-                int n = gNode.get("n").asInt();
-                Graph g = new Graph(n);
+    /**
+     * Opens a streaming reader over the graphs in {@code path}. The caller owns the stream
+     * and must close it.
+     */
+    public static GraphStream stream(String path) throws IOException {
+        return new GraphStream(new File(path));
+    }
 
-                JsonNode edges = gNode.get("edges");
-                if (edges != null && edges.isArray()) {
-                    for (JsonNode e : edges) {
-                        int u = e.get("u").asInt();
-                        int v = e.get("v").asInt();
-                        double w = e.has("w") ? e.get("w").asDouble() : 1.0;
-                        g.addEdge(u, v, w);
+    public static List<Graph> loadAll(String path) throws IOException {
+        List<Graph> list = new ArrayList<>();
+        try (GraphSource graphs = open(path)) {
+            while (graphs.hasNext()) {
+                CsrGraph csr = graphs.next();
+                int[] offsets = csr.offsets();
+                int[] targets = csr.targets();
+                double[] weights = csr.weights();
+                Graph g = new Graph(csr.size());
+                for (int u = 0; u < csr.size(); u++) {
+                    for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                        g.addEdge(u, targets[i], weights[i]);
                     }
                 }
                 list.add(g);
             }
-        } else {
-            int n = root.get("n").asInt();
-            Graph g = new Graph(n);
-
-            JsonNode edges = root.get("edges");
-            if (edges != null && edges.isArray()) {
-                for (JsonNode e : edges) {
-                    int u = e.get("u").asInt();
-                    int v = e.get("v").asInt();
-                    double w = e.has("w") ? e.get("w").asDouble() : 1.0;
-                    g.addEdge(u, v, w);
-                }
-            }
-            list.add(g);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-
         return list;
     }
 }
@@ -0,0 +1,13 @@
+package org.example.io;
+
+import org.example.model.CsrGraph;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Graphs of one input file, pulled one at a time. I/O and format errors surface from
+ * {@link #hasNext()} and {@link #next()} as {@link java.io.UncheckedIOException}.
+ */
+public interface GraphSource extends Iterator<CsrGraph>, Closeable {
+}
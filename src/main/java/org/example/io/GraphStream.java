@@ -0,0 +1,181 @@
+package org.example.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.example.model.CsrGraph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Pulls graphs one at a time from a graph file with Jackson's token API, so no
+ * {@code JsonNode} tree is ever built. Edges go straight into primitive buffers that are
+ * reused from graph to graph; peak memory is bounded by the largest single graph.
+ * <p>
+ * Accepts the same layouts as {@link GraphReader#loadAll}: a root object with a
+ * {@code "graphs"} array, or a root object that is itself one graph. Unknown fields are
+ * skipped. I/O and syntax errors surface as {@link UncheckedIOException}.
+ */
+public class GraphStream implements GraphSource {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private boolean inGraphs;
+    private boolean sawGraphs;
+    private boolean done;
+    private CsrGraph pending;
+
+    // Root-level graph, only emitted if the file has no "graphs" array.
+    private int rootN = -1;
+    private boolean rootHasGraph;
+
+    private int[] from = new int[16];
+    private int[] to = new int[16];
+    private double[] weight = new double[16];
+    private int m;
+
+    public GraphStream(File file) throws IOException {
+        this.parser = FACTORY.createParser(file);
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                throw new JsonParseException(parser, "Expected a JSON object at the root");
+        } catch (IOException e) {
+            parser.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null && !done) {
+            try {
+                pending = advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (pending == null) done = true;
+        }
+        return pending != null;
+    }
+
+    @Override
+    public CsrGraph next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        CsrGraph g = pending;
+        pending = null;
+        return g;
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        parser.close();
+    }
+
+    private CsrGraph advance() throws IOException {
+        while (true) {
+            if (inGraphs) {
+                JsonToken t = parser.nextToken();
+                if (t == JsonToken.START_OBJECT) return readGraph();
+                if (t != JsonToken.END_ARRAY)
+                    throw new JsonParseException(parser, "Expected a graph object in \"graphs\"");
+                inGraphs = false;
+                continue;
+            }
+
+            JsonToken t = parser.nextToken();
+            if (t == JsonToken.END_OBJECT || t == null) {
+                parser.close();
+                boolean emitRoot = !sawGraphs && rootHasGraph;
+                rootHasGraph = false;
+                return emitRoot ? freeze(rootN) : null;
+            }
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "graphs" -> {
+                    if (parser.currentToken() != JsonToken.START_ARRAY)
+                        throw new JsonParseException(parser, "\"graphs\" must be an array");
+                    sawGraphs = true;
+                    inGraphs = true;
+                    m = 0;
+                }
+                case "n" -> {
+                    rootN = parser.getIntValue();
+                    rootHasGraph = true;
+                }
+                case "edges" -> {
+                    if (!sawGraphs) {
+                        readEdges();
+                        rootHasGraph = true;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private CsrGraph readGraph() throws IOException {
+        int n = -1;
+        m = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "n" -> n = parser.getIntValue();
+                case "edges" -> readEdges();
+                default -> parser.skipChildren();
+            }
+        }
+        return freeze(n);
+    }
+
+    private void readEdges() throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) return;
+        if (parser.currentToken() != JsonToken.START_ARRAY)
+            throw new JsonParseException(parser, "\"edges\" must be an array");
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int u = -1, v = -1;
+            double w = 1.0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "u" -> u = parser.getValueAsInt(-1);
+                    case "v" -> v = parser.getValueAsInt(-1);
+                    case "w" -> w = parser.getValueAsDouble(1.0);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (m == from.length) grow();
+            from[m] = u;
+            to[m] = v;
+            weight[m] = w;
+            m++;
+        }
+        if (parser.currentToken() != JsonToken.END_ARRAY)
+            throw new JsonParseException(parser, "Expected an edge object in \"edges\"");
+    }
+
+    private CsrGraph freeze(int n) throws IOException {
+        if (n < 0) throw new JsonParseException(parser, "Graph without a valid \"n\"");
+        CsrGraph g = CsrGraph.fromEdges(n, from, to, weight, m);
+        m = 0;
+        return g;
+    }
+
+    private void grow() {
+        int cap = (int) Math.min((long) from.length * 2, Integer.MAX_VALUE - 8);
+        if (cap == from.length) throw new IllegalStateException("Too many edges for a CSR graph");
+        from = Arrays.copyOf(from, cap);
+        to = Arrays.copyOf(to, cap);
+        weight = Arrays.copyOf(weight, cap);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes graphs edge by edge in the JSON layout read by {@link GraphStream}, so graphs of
+ * any size can be produced without holding them in memory:
+ * <pre>
+ * try (JsonGraphWriter out = new JsonGraphWriter(path)) {
+ *     out.beginGraph(n);
+ *     out.edge(u, v, w); ...
+ *     out.endGraph();
+ * }
+ * </pre>
+ */
+public class JsonGraphWriter implements Closeable {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonGenerator gen;
+    private boolean inGraph;
+
+    public JsonGraphWriter(String path) throws IOException {
+        this.gen = FACTORY.createGenerator(new File(path), JsonEncoding.UTF8);
+        // One array element per line keeps huge files greppable without the cost of full indentation.
+        gen.setPrettyPrinter(new MinimalPrettyPrinter() {
+            @Override
+            public void writeArrayValueSeparator(JsonGenerator g) throws IOException {
+                g.writeRaw(",\n");
+            }
+        });
+        gen.writeStartObject();
+        gen.writeBooleanField("directed", true);
+        gen.writeArrayFieldStart("graphs");
+    }
+
+    public void beginGraph(int n) throws IOException {
+        if (inGraph) throw new IllegalStateException("Previous graph not ended");
+        gen.writeStartObject();
+        gen.writeNumberField("n", n);
+        gen.writeArrayFieldStart("edges");
+        inGraph = true;
+    }
+
+    public void edge(int u, int v, double w) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("u", u);
+        gen.writeNumberField("v", v);
+        if (w == Math.rint(w) && Math.abs(w) < 1e15) gen.writeNumberField("w", (long) w);
+        else gen.writeNumberField("w", w);
+        gen.writeEndObject();
+    }
+
+    public void endGraph() throws IOException {
+        if (!inGraph) throw new IllegalStateException("No graph started");
+        gen.writeEndArray();
+        gen.writeStringField("weight_model", "edge");
+        gen.writeEndObject();
+        inGraph = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (inGraph) endGraph();
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        } finally {
+            gen.close();
+        }
+    }
+}
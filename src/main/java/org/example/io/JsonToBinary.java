@@ -0,0 +1,29 @@
+package org.example.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Converts a graph JSON file to the binary CSR format:
+ * {@code java org.example.io.JsonToBinary data/large_graphs.json data/large_graphs.csrg}.
+ */
+public class JsonToBinary {
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: JsonToBinary <input.json> <output" + GraphReader.BINARY_EXTENSION + ">");
+            System.exit(2);
+        }
+        int count = 0;
+        try (GraphStream graphs = GraphReader.stream(args[0]);
+             BinaryGraphWriter out = new BinaryGraphWriter(Path.of(args[1]))) {
+            while (graphs.hasNext()) {
+                out.write(graphs.next());
+                count++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        System.out.println("Converted " + count + " graphs to " + args[1]);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes {@code {"results": [...]}} incrementally: every {@link #write} serializes one
+ * result and flushes it to disk, so nothing is accumulated in memory. {@link #close()}
+ * terminates the array, which also leaves a valid file behind when a run is cut short.
+ */
+public class ResultWriter implements Closeable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JsonGenerator gen;
+    private int count;
+
+    public ResultWriter(String path, boolean pretty) throws IOException {
+        this.gen = MAPPER.getFactory().createGenerator(new File(path), JsonEncoding.UTF8);
+        if (pretty) gen.useDefaultPrettyPrinter();
+        gen.writeStartObject();
+        gen.writeFieldName("results");
+        gen.writeStartArray();
+    }
+
+    public void write(Map<String, Object> result) throws IOException {
+        gen.writeObject(result);
+        gen.flush();
+        count++;
+    }
+
+    public int count() { return count; }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            gen.writeEndArray();
+            gen.writeEndObject();
+        } finally {
+            gen.close();
+        }
+    }
+}
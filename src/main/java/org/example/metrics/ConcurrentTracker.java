@@ -0,0 +1,54 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters striped with {@link LongAdder}, so many threads can update them without
+ * contending on one cache line. Reads sum the stripes. Each thread's
+ * {@link #startTimer()}/{@link #stopTimer()} pair is timed on its own and the intervals are
+ * summed, so overlapping timers on different threads do not clobber each other.
+ */
+final class ConcurrentTracker extends PerformanceTracker {
+    private final LongAdder dfsVisits = new LongAdder();
+    private final LongAdder edgesExplored = new LongAdder();
+    private final LongAdder pushes = new LongAdder();
+    private final LongAdder pops = new LongAdder();
+    private final LongAdder relaxations = new LongAdder();
+    private final LongAdder timeNanos = new LongAdder();
+    private final ThreadLocal<long[]> startNano = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override public void incDfsVisits() { dfsVisits.increment(); }
+    @Override public void incEdgesExplored() { edgesExplored.increment(); }
+    @Override public void incPushes() { pushes.increment(); }
+    @Override public void incPops() { pops.increment(); }
+    @Override public void incRelaxations() { relaxations.increment(); }
+
+    @Override public void addDfsVisits(long count) { dfsVisits.add(count); }
+    @Override public void addEdgesExplored(long count) { edgesExplored.add(count); }
+    @Override public void addPushes(long count) { pushes.add(count); }
+    @Override public void addPops(long count) { pops.add(count); }
+    @Override public void addRelaxations(long count) { relaxations.add(count); }
+
+    @Override public void startTimer() { startNano.get()[0] = System.nanoTime(); }
+    @Override public void stopTimer() { timeNanos.add(System.nanoTime() - startNano.get()[0]); }
+    @Override public double getTimeMs() { return timeNanos.sum() / 1_000_000.0; }
+
+    @Override public long getDfsVisits() { return dfsVisits.sum(); }
+    @Override public long getEdgesExplored() { return edgesExplored.sum(); }
+    @Override public long getPushes() { return pushes.sum(); }
+    @Override public long getPops() { return pops.sum(); }
+    @Override public long getRelaxations() { return relaxations.sum(); }
+
+    @Override
+    public void reset() {
+        dfsVisits.reset();
+        edgesExplored.reset();
+        pushes.reset();
+        pops.reset();
+        relaxations.reset();
+        timeNanos.reset();
+        synchronized (this) {
+            super.reset();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.metrics;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One row per counter and phase: {@code scope,metric,value}. Phases produce
+ * {@code phase.<name>.count}, {@code .time_ms} and {@code .allocated_bytes} rows, plus
+ * {@code .retained_bytes} if the phase reported it.
+ */
+public class CsvMetricsSink implements MetricsSink {
+    private final CSVPrinter out;
+
+    public CsvMetricsSink(String path) throws IOException {
+        this.out = new CSVPrinter(new FileWriter(path, StandardCharsets.UTF_8),
+                CSVFormat.DEFAULT.builder().setHeader("scope", "metric", "value").build());
+    }
+
+    @Override
+    public synchronized void record(String scope, PerformanceTracker t) throws IOException {
+        out.printRecord(scope, "dfsVisits", t.getDfsVisits());
+        out.printRecord(scope, "edgesExplored", t.getEdgesExplored());
+        out.printRecord(scope, "pushes", t.getPushes());
+        out.printRecord(scope, "pops", t.getPops());
+        out.printRecord(scope, "relaxations", t.getRelaxations());
+        out.printRecord(scope, "time_ms", t.getTimeMs());
+        for (var e : t.getPhases().entrySet()) {
+            String prefix = "phase." + e.getKey() + ".";
+            out.printRecord(scope, prefix + "count", e.getValue().count);
+            out.printRecord(scope, prefix + "time_ms", e.getValue().timeMs);
+            out.printRecord(scope, prefix + "allocated_bytes", e.getValue().allocatedBytes);
+            if (e.getValue().retainedBytes >= 0) {
+                out.printRecord(scope, prefix + "retained_bytes", e.getValue().retainedBytes);
+            }
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
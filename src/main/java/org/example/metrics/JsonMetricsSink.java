@@ -0,0 +1,39 @@
+package org.example.metrics;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSON Lines: one {@code {"scope": ..., "dfsVisits": ..., "phases": {...}}} object per record.
+ */
+public class JsonMetricsSink implements MetricsSink {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final JsonGenerator gen;
+
+    public JsonMetricsSink(String path) throws IOException {
+        this.gen = MAPPER.getFactory().createGenerator(new File(path), JsonEncoding.UTF8);
+        gen.setRootValueSeparator(null);
+    }
+
+    @Override
+    public synchronized void record(String scope, PerformanceTracker t) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("scope", scope);
+        row.putAll(t.snapshot());
+        gen.writeObject(row);
+        gen.writeRaw('\n');
+        gen.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        gen.close();
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination for tracker snapshots. {@code scope} identifies the run, for example
+ * {@code "graph-3/scc"}.
+ */
+public interface MetricsSink extends Closeable {
+    void record(String scope, PerformanceTracker tracker) throws IOException;
+
+    /**
+     * Picks the sink by file extension: {@code .csv} for {@link CsvMetricsSink}, anything
+     * else for {@link JsonMetricsSink}.
+     */
+    static MetricsSink open(String path) throws IOException {
+        return path.endsWith(".csv") ? new CsvMetricsSink(path) : new JsonMetricsSink(path);
+    }
+}
@@ -1,5 +1,21 @@
 package org.example.metrics;
 
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Operation counters, a total timer and named phases for one algorithm run.
+ * <p>
+ * The plain tracker is meant for one thread; {@link #concurrent()} stripes the counters for
+ * engines that update them from many threads, and {@link #noop()} ignores every call so the
+ * JIT can drop the instrumentation entirely. Engines keep hot-loop counts in locals and
+ * report them once through the {@code add*} methods.
+ * <p>
+ * {@link #startTimer()}/{@link #stopTimer()} pairs accumulate into {@link #getTimeMs()}.
+ * {@link #phase(String)} additionally records time and allocated bytes under a name, and
+ * optionally the bytes its result retains, which {@link MetricsSink}s export together with
+ * the counters.
+ */
 public class PerformanceTracker {
     private long dfsVisits;
     private long edgesExplored;
@@ -10,18 +26,37 @@ public class PerformanceTracker {
     private double timeMs;
     private long startNano;
 
+    private final Map<String, PhaseStats> phases = new LinkedHashMap<>();
+
+    public static PerformanceTracker noop() { return NoopTracker.INSTANCE; }
+    public static PerformanceTracker concurrent() { return new ConcurrentTracker(); }
+
     public void incDfsVisits() { dfsVisits++; }
     public void incEdgesExplored() { edgesExplored++; }
     public void incPushes() { pushes++; }
     public void incPops() { pops++; }
     public void incRelaxations() { relaxations++; }
 
+    public void addDfsVisits(long count) { dfsVisits += count; }
+    public void addEdgesExplored(long count) { edgesExplored += count; }
+    public void addPushes(long count) { pushes += count; }
+    public void addPops(long count) { pops += count; }
+    public void addRelaxations(long count) { relaxations += count; }
+
     public void startTimer() {
         startNano = System.nanoTime();
     }
 
     public void stopTimer() {
-        timeMs = (System.nanoTime() - startNano) / 1_000_000.0;
+        timeMs += (System.nanoTime() - startNano) / 1_000_000.0;
+    }
+
+    /**
+     * Starts timing a named phase on the current thread; close the handle on the same thread.
+     * Repeated phases with the same name are summed.
+     */
+    public Phase phase(String name) {
+        return new Phase(this, name);
     }
 
     public long getDfsVisits() { return dfsVisits; }
@@ -31,16 +66,124 @@ public class PerformanceTracker {
     public long getRelaxations() { return relaxations; }
     public double getTimeMs() { return timeMs; }
 
+    public synchronized Map<String, PhaseStats> getPhases() {
+        return new LinkedHashMap<>(phases);
+    }
+
+    /** Counters, total time and phases as a JSON-friendly map. */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("dfsVisits", getDfsVisits());
+        m.put("edgesExplored", getEdgesExplored());
+        m.put("pushes", getPushes());
+        m.put("pops", getPops());
+        m.put("relaxations", getRelaxations());
+        m.put("time_ms", getTimeMs());
+        Map<String, Object> p = new LinkedHashMap<>();
+        getPhases().forEach((name, s) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", s.count);
+            stats.put("time_ms", s.timeMs);
+            stats.put("allocated_bytes", s.allocatedBytes);
+            if (s.retainedBytes >= 0) stats.put("retained_bytes", s.retainedBytes);
+            p.put(name, stats);
+        });
+        m.put("phases", p);
+        return m;
+    }
+
     public void reset() {
         dfsVisits = edgesExplored = pushes = pops = relaxations = 0;
         timeMs = 0.0;
+        synchronized (this) {
+            phases.clear();
+        }
+    }
+
+    synchronized void recordPhase(String name, double ms, long bytes, long retained) {
+        PhaseStats s = phases.get(name);
+        if (s == null) {
+            phases.put(name, new PhaseStats(1, ms, bytes, retained));
+            return;
+        }
+        long total = s.allocatedBytes < 0 || bytes < 0 ? -1 : s.allocatedBytes + bytes;
+        long kept = s.retainedBytes < 0 ? retained : retained < 0 ? s.retainedBytes : s.retainedBytes + retained;
+        phases.put(name, new PhaseStats(s.count + 1, s.timeMs + ms, total, kept));
     }
 
     @Override
     public String toString() {
         return String.format(
                 "dfs=%d, edges=%d, pushes=%d, pops=%d, relax=%d, time=%.3f ms",
-                dfsVisits, edgesExplored, pushes, pops, relaxations, timeMs
+                getDfsVisits(), getEdgesExplored(), getPushes(), getPops(), getRelaxations(), getTimeMs()
         );
     }
+
+    /**
+     * Totals of one named phase; {@code allocatedBytes} is -1 if the JVM cannot measure it,
+     * {@code retainedBytes} is -1 if the phase never reported it.
+     */
+    public static class PhaseStats {
+        public final long count;
+        public final double timeMs;
+        public final long allocatedBytes;
+        public final long retainedBytes;
+
+        PhaseStats(long count, double timeMs, long allocatedBytes, long retainedBytes) {
+            this.count = count;
+            this.timeMs = timeMs;
+            this.allocatedBytes = allocatedBytes;
+            this.retainedBytes = retainedBytes;
+        }
+    }
+
+    public static class Phase implements AutoCloseable {
+        private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+        static final Phase NONE = new Phase();
+
+        private final PerformanceTracker owner;
+        private final String name;
+        private final long startNano;
+        private final long startBytes;
+        private long retainedBytes = -1;
+
+        private Phase() {
+            this.owner = null;
+            this.name = null;
+            this.startNano = 0;
+            this.startBytes = -1;
+        }
+
+        Phase(PerformanceTracker owner, String name) {
+            this.owner = owner;
+            this.name = name;
+            this.startBytes = allocatedBytes();
+            this.startNano = System.nanoTime();
+        }
+
+        /** Records the size of what the phase built and keeps, such as an index. */
+        public void retain(long bytes) {
+            if (owner != null) retainedBytes = bytes;
+        }
+
+        @Override
+        public void close() {
+            if (owner == null) return;
+            double ms = (System.nanoTime() - startNano) / 1_000_000.0;
+            long bytes = startBytes < 0 ? -1 : allocatedBytes() - startBytes;
+            owner.recordPhase(name, ms, bytes, retainedBytes);
+        }
+
+        private static long allocatedBytes() {
+            return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+        }
+
+        private static com.sun.management.ThreadMXBean allocationBean() {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,193 @@
+package org.example.model;
+
+import java.util.*;
+
+/**
+ * Immutable compressed-sparse-row graph. The out-edges of vertex {@code v} are the
+ * index range {@code [offsets[v], offsets[v + 1])} of {@code targets} and {@code weights}.
+ * Edges of a vertex keep the order in which they were added.
+ */
+public class CsrGraph implements GraphView {
+    private final int V;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    public CsrGraph(int V, int[] offsets, int[] targets, double[] weights) {
+        if (offsets.length != V + 1 || targets.length != offsets[V] || weights.length != targets.length)
+            throw new IllegalArgumentException("Inconsistent CSR arrays");
+        this.V = V;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static CsrGraph of(Graph g) {
+        int n = g.size();
+        List<List<Edge>> adj = g.getAdj();
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + adj.get(v).size();
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        int i = 0;
+        for (int v = 0; v < n; v++) {
+            for (Edge e : adj.get(v)) {
+                targets[i] = e.to();
+                weights[i] = e.weight();
+                i++;
+            }
+        }
+        return new CsrGraph(n, offsets, targets, weights);
+    }
+
+    /**
+     * Freezes the first {@code m} entries of parallel edge arrays with a stable counting sort
+     * by source vertex. The input arrays are only read, so callers may reuse them.
+     */
+    public static CsrGraph fromEdges(int V, int[] from, int[] to, double[] weight, int m) {
+        int[] offsets = new int[V + 1];
+        for (int i = 0; i < m; i++) {
+            if (from[i] < 0 || from[i] >= V || to[i] < 0 || to[i] >= V)
+                throw new IllegalArgumentException("Invalid vertex index");
+            offsets[from[i] + 1]++;
+        }
+        for (int v = 0; v < V; v++) offsets[v + 1] += offsets[v];
+
+        int[] cursor = Arrays.copyOf(offsets, V);
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (int i = 0; i < m; i++) {
+            int slot = cursor[from[i]]++;
+            targets[slot] = to[i];
+            weights[slot] = weight[i];
+        }
+        return new CsrGraph(V, offsets, targets, weights);
+    }
+
+    @Override public int size() { return V; }
+    public int edgeCount() { return targets.length; }
+
+    @Override public long numEdges() { return targets.length; }
+    @Override public long edgeStart(int v) { return offsets[v]; }
+    @Override public long edgeEnd(int v) { return offsets[v + 1]; }
+    @Override public int target(long edge) { return targets[(int) edge]; }
+    @Override public double weight(long edge) { return weights[(int) edge]; }
+
+    // The arrays are shared, not copied; callers must treat them as read-only.
+    public int[] offsets() { return offsets; }
+    public int[] targets() { return targets; }
+    public double[] weights() { return weights; }
+
+    public int outDegree(int v) { return offsets[v + 1] - offsets[v]; }
+
+    /**
+     * 64-bit hash of the vertex count, the edges in CSR order and their weights. Two graphs
+     * with the same adjacency lists in the same order hash equally; reordering edges within
+     * a list changes the hash, as it can change the results.
+     */
+    public long contentHash() {
+        long h = mix(0x243F6A8885A308D3L, V);
+        h = mix(h, targets.length);
+        for (int i = 1; i <= V; i++) h = mix(h, offsets[i]);
+        for (int t : targets) h = mix(h, t);
+        for (double w : weights) h = mix(h, Double.doubleToLongBits(w));
+        // Final avalanche (MurmurHash3 fmix64).
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static long mix(long h, long v) {
+        return Long.rotateLeft(h ^ (v * 0x9E3779B97F4A7C15L), 29) * 0xBF58476D1CE4E5B9L;
+    }
+
+    public CsrGraph transpose() {
+        int[] tOffsets = new int[V + 1];
+        for (int t : targets) tOffsets[t + 1]++;
+        for (int v = 0; v < V; v++) tOffsets[v + 1] += tOffsets[v];
+
+        int[] cursor = Arrays.copyOf(tOffsets, V);
+        int[] tTargets = new int[targets.length];
+        double[] tWeights = new double[targets.length];
+        for (int u = 0; u < V; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                int slot = cursor[targets[i]]++;
+                tTargets[slot] = u;
+                tWeights[slot] = weights[i];
+            }
+        }
+        return new CsrGraph(V, tOffsets, tTargets, tWeights);
+    }
+
+    public List<Edge> edges() {
+        List<Edge> list = new ArrayList<>(targets.length);
+        for (int u = 0; u < V; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                list.add(new Edge(u, targets[i], weights[i]));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Accumulates edges in flat primitive buffers and freezes them into a {@link CsrGraph}
+     * with a stable counting sort by source vertex.
+     */
+    public static class Builder {
+        private final int V;
+        private int[] from;
+        private int[] to;
+        private double[] weight;
+        private int m;
+
+        public Builder(int V) {
+            this(V, 16);
+        }
+
+        public Builder(int V, int expectedEdges) {
+            if (V < 0) throw new IllegalArgumentException("Negative vertex count");
+            this.V = V;
+            int cap = Math.max(expectedEdges, 1);
+            this.from = new int[cap];
+            this.to = new int[cap];
+            this.weight = new double[cap];
+        }
+
+        public Builder addEdge(int u, int v, double w) {
+            if (u < 0 || u >= V || v < 0 || v >= V)
+                throw new IllegalArgumentException("Invalid vertex index");
+            if (m == from.length) grow();
+            from[m] = u;
+            to[m] = v;
+            weight[m] = w;
+            m++;
+            return this;
+        }
+
+        public Builder addAll(Graph g) {
+            for (List<Edge> edges : g.getAdj()) {
+                for (Edge e : edges) addEdge(e.from(), e.to(), e.weight());
+            }
+            return this;
+        }
+
+        public int size() { return V; }
+        public int edgeCount() { return m; }
+
+        public CsrGraph build() {
+            return fromEdges(V, from, to, weight, m);
+        }
+
+        private void grow() {
+            int cap = (int) Math.min((long) from.length * 2, Integer.MAX_VALUE - 8);
+            if (cap == from.length) throw new IllegalStateException("Too many edges for a CSR graph");
+            from = Arrays.copyOf(from, cap);
+            to = Arrays.copyOf(to, cap);
+            weight = Arrays.copyOf(weight, cap);
+        }
+    }
+}
@@ -33,4 +33,8 @@ public class Graph {
         }
         return reversed;
     }
+
+    public CsrGraph freeze() {
+        return CsrGraph.of(this);
+    }
 }
@@ -0,0 +1,24 @@
+package org.example.model;
+
+/**
+ * Read-only CSR access with 64-bit edge indices, implemented by the on-heap
+ * {@link CsrGraph} and the off-heap {@link OffHeapCsrGraph}. The out-edges of {@code v}
+ * are the indices {@code [edgeStart(v), edgeEnd(v))}, in insertion order.
+ * <p>
+ * Engines that take a view run unchanged on either storage; call sites that only ever see
+ * one implementation are inlined by the JIT as if they read the arrays directly.
+ */
+public interface GraphView {
+    int size();
+
+    /** Edge count; unlike {@link CsrGraph#edgeCount()} it may exceed {@code Integer.MAX_VALUE}. */
+    long numEdges();
+
+    long edgeStart(int v);
+
+    long edgeEnd(int v);
+
+    int target(long edge);
+
+    double weight(long edge);
+}
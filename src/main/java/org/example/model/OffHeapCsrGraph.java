@@ -0,0 +1,176 @@
+package org.example.model;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Immutable CSR graph stored outside the Java heap in {@link MemorySegment}s, with 64-bit
+ * offsets so a graph may hold more than {@code Integer.MAX_VALUE} edges. The garbage
+ * collector never scans or moves the edge arrays; they are freed all at once by
+ * {@link #close()}, after which every access fails.
+ * <p>
+ * Layout per graph: {@code offsets:int64[V+1] targets:int32[M] weights:float64[M]}, the
+ * same arrays as {@link CsrGraph} with wider offsets. The memory comes from a shared arena,
+ * so any thread may read the graph.
+ * <p>
+ * No reader produces one yet, since the binary input format is limited to 32-bit offsets:
+ * fill a {@link Builder} or copy an on-heap graph. Of the SCC engines only {@code Tarjan}
+ * accepts it.
+ */
+public class OffHeapCsrGraph implements GraphView, AutoCloseable {
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT;
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE;
+
+    private final int V;
+    private final long m;
+    private final Arena arena;
+    private final MemorySegment offsets;
+    private final MemorySegment targets;
+    private final MemorySegment weights;
+
+    private OffHeapCsrGraph(int V, long m, Arena arena, MemorySegment offsets, MemorySegment targets,
+                            MemorySegment weights) {
+        this.V = V;
+        this.m = m;
+        this.arena = arena;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /** Copies an on-heap graph off the heap. */
+    public static OffHeapCsrGraph copyOf(CsrGraph g) {
+        int n = g.size();
+        int m = g.edgeCount();
+        Arena arena = Arena.ofShared();
+        MemorySegment offsets = arena.allocate(8L * (n + 1), 8);
+        MemorySegment targets = arena.allocate(4L * m, 8);
+        MemorySegment weights = arena.allocate(8L * m, 8);
+        int[] o = g.offsets();
+        for (int v = 0; v <= n; v++) offsets.setAtIndex(LONG, v, o[v]);
+        MemorySegment.copy(MemorySegment.ofArray(g.targets()), 0, targets, 0, 4L * m);
+        MemorySegment.copy(MemorySegment.ofArray(g.weights()), 0, weights, 0, 8L * m);
+        return new OffHeapCsrGraph(n, m, arena, offsets, targets, weights);
+    }
+
+    @Override public int size() { return V; }
+    @Override public long numEdges() { return m; }
+    @Override public long edgeStart(int v) { return offsets.getAtIndex(LONG, v); }
+    @Override public long edgeEnd(int v) { return offsets.getAtIndex(LONG, v + 1L); }
+    @Override public int target(long edge) { return targets.getAtIndex(INT, edge); }
+    @Override public double weight(long edge) { return weights.getAtIndex(DOUBLE, edge); }
+
+    public long outDegree(int v) { return edgeEnd(v) - edgeStart(v); }
+
+    /** Off-heap bytes held by this graph. */
+    public long byteSize() {
+        return offsets.byteSize() + targets.byteSize() + weights.byteSize();
+    }
+
+    /** Frees the memory. The graph must not be in use by any thread. */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Collects edges in off-heap buffers and freezes them into an {@link OffHeapCsrGraph}
+     * with a stable counting sort by source vertex, like {@link CsrGraph.Builder}. The
+     * buffers take 16 bytes per edge until {@link #build()}; the builder must stay on the
+     * thread that created it.
+     */
+    public static class Builder implements AutoCloseable {
+        private final int V;
+        private Arena buffers;
+        private MemorySegment from;
+        private MemorySegment to;
+        private MemorySegment weight;
+        private long capacity;
+        private long m;
+
+        public Builder(int V) {
+            this(V, 16);
+        }
+
+        public Builder(int V, long expectedEdges) {
+            if (V < 0) throw new IllegalArgumentException("Negative vertex count: " + V);
+            this.V = V;
+            allocate(Math.max(16, expectedEdges));
+        }
+
+        public Builder addEdge(int u, int v, double w) {
+            if (u < 0 || u >= V || v < 0 || v >= V)
+                throw new IndexOutOfBoundsException("Edge " + u + " -> " + v + " outside [0, " + V + ")");
+            if (m == capacity) allocate(2 * capacity);
+            from.setAtIndex(INT, m, u);
+            to.setAtIndex(INT, m, v);
+            weight.setAtIndex(DOUBLE, m, w);
+            m++;
+            return this;
+        }
+
+        public int size() { return V; }
+        public long edgeCount() { return m; }
+
+        public OffHeapCsrGraph build() {
+            if (buffers == null) throw new IllegalStateException("Builder was already built or closed");
+            Arena arena = Arena.ofShared();
+            try {
+                MemorySegment offsets = arena.allocate(8L * (V + 1), 8);
+                MemorySegment targets = arena.allocate(4L * m, 8);
+                MemorySegment weights = arena.allocate(8L * m, 8);
+                for (long i = 0; i < m; i++) {
+                    long slot = from.getAtIndex(INT, i) + 1L;
+                    offsets.setAtIndex(LONG, slot, offsets.getAtIndex(LONG, slot) + 1);
+                }
+                for (long v = 0; v < V; v++) {
+                    offsets.setAtIndex(LONG, v + 1, offsets.getAtIndex(LONG, v + 1) + offsets.getAtIndex(LONG, v));
+                }
+                try (Arena scratch = Arena.ofConfined()) {
+                    MemorySegment cursor = scratch.allocate(8L * Math.max(V, 1), 8);
+                    MemorySegment.copy(offsets, 0, cursor, 0, 8L * V);
+                    for (long i = 0; i < m; i++) {
+                        long u = from.getAtIndex(INT, i);
+                        long slot = cursor.getAtIndex(LONG, u);
+                        cursor.setAtIndex(LONG, u, slot + 1);
+                        targets.setAtIndex(INT, slot, to.getAtIndex(INT, i));
+                        weights.setAtIndex(DOUBLE, slot, weight.getAtIndex(DOUBLE, i));
+                    }
+                }
+                return new OffHeapCsrGraph(V, m, arena, offsets, targets, weights);
+            } catch (RuntimeException | Error e) {
+                arena.close();
+                throw e;
+            } finally {
+                close();
+            }
+        }
+
+        /** Frees the edge buffers; {@link #build()} does this itself. */
+        @Override
+        public void close() {
+            if (buffers != null) buffers.close();
+            buffers = null;
+        }
+
+        private void allocate(long newCapacity) {
+            Arena next = Arena.ofConfined();
+            MemorySegment f = next.allocate(4 * newCapacity, 8);
+            MemorySegment t = next.allocate(4 * newCapacity, 8);
+            MemorySegment w = next.allocate(8 * newCapacity, 8);
+            if (buffers != null) {
+                MemorySegment.copy(from, 0, f, 0, 4 * m);
+                MemorySegment.copy(to, 0, t, 0, 4 * m);
+                MemorySegment.copy(weight, 0, w, 0, 8 * m);
+                buffers.close();
+            }
+            buffers = next;
+            from = f;
+            to = t;
+            weight = w;
+            capacity = newCapacity;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.model;
+
+import java.util.*;
+
+/**
+ * A permutation of vertex ids chosen to put vertices that are traversed together next to
+ * each other in memory. {@link #apply} builds the relabeled CSR graph; {@link #toOriginal}
+ * maps vertex ids of results on that graph back.
+ * <p>
+ * BFS and reverse Cuthill-McKee walk the graph with edge directions ignored, so vertices
+ * that share an edge in either direction get nearby ids. Degree sorting puts the
+ * high-degree hubs, which most edges point at, at the front.
+ */
+public class Relabeling {
+    public enum Strategy {
+        BFS("bfs"), RCM("rcm"), DEGREE("degree");
+
+        private final String key;
+
+        Strategy(String key) { this.key = key; }
+
+        public String key() { return key; }
+
+        public static Strategy of(String key) {
+            for (Strategy s : values()) {
+                if (s.key.equals(key)) return s;
+            }
+            throw new IllegalArgumentException("Unknown vertex order: " + key + " (expected one of "
+                    + Arrays.stream(values()).map(Strategy::key).toList() + ")");
+        }
+    }
+
+    private final int[] newId;
+    private final int[] oldId;
+
+    private Relabeling(int[] oldId) {
+        this.oldId = oldId;
+        this.newId = new int[oldId.length];
+        for (int v = 0; v < oldId.length; v++) newId[oldId[v]] = v;
+    }
+
+    public static Relabeling of(Strategy strategy, CsrGraph g) {
+        return switch (strategy) {
+            case BFS -> new Relabeling(bfs(g, false));
+            case RCM -> new Relabeling(bfs(g, true));
+            case DEGREE -> new Relabeling(byDegree(g));
+        };
+    }
+
+    public int size() { return oldId.length; }
+    public int newId(int original) { return newId[original]; }
+    public int toOriginal(int relabeled) { return oldId[relabeled]; }
+
+    /** Same graph under the new ids; each adjacency list keeps its edge order. */
+    public CsrGraph apply(CsrGraph g) {
+        int n = g.size();
+        int[] offsets = g.offsets();
+        int[] targets = g.targets();
+        double[] weights = g.weights();
+        int[] outOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) outOffsets[u + 1] = outOffsets[u] + g.outDegree(oldId[u]);
+        int[] outTargets = new int[targets.length];
+        double[] outWeights = new double[targets.length];
+        for (int u = 0; u < n; u++) {
+            int from = offsets[oldId[u]];
+            int len = outOffsets[u + 1] - outOffsets[u];
+            for (int i = 0; i < len; i++) outTargets[outOffsets[u] + i] = newId[targets[from + i]];
+            System.arraycopy(weights, from, outWeights, outOffsets[u], len);
+        }
+        return new CsrGraph(n, outOffsets, outTargets, outWeights);
+    }
+
+    /** Per-vertex values of the relabeled graph, indexed by original id. */
+    public int[] toOriginal(int[] byNewId) {
+        int[] out = new int[byNewId.length];
+        for (int v = 0; v < out.length; v++) out[v] = byNewId[newId[v]];
+        return out;
+    }
+
+    /** Vertex lists of the relabeled graph as ascending lists of original ids. */
+    public List<List<Integer>> toOriginal(List<List<Integer>> groups) {
+        List<List<Integer>> out = new ArrayList<>(groups.size());
+        for (List<Integer> group : groups) {
+            List<Integer> mapped = new ArrayList<>(group.size());
+            for (int v : group) mapped.add(oldId[v]);
+            mapped.sort(Comparator.naturalOrder());
+            out.add(mapped);
+        }
+        return out;
+    }
+
+    // BFS over the undirected view, restarting from the lowest-id unvisited vertex. With rcm,
+    // restarts take the lowest-degree unvisited vertex, neighbours are visited by ascending
+    // degree and the final order is reversed.
+    private static int[] bfs(CsrGraph g, boolean rcm) {
+        int n = g.size();
+        CsrGraph reverse = g.transpose();
+        int[] fOffsets = g.offsets(), fTargets = g.targets();
+        int[] rOffsets = reverse.offsets(), rTargets = reverse.targets();
+        int[] degree = new int[n];
+        for (int v = 0; v < n; v++) degree[v] = fOffsets[v + 1] - fOffsets[v] + rOffsets[v + 1] - rOffsets[v];
+
+        int[] roots = rcm ? ascendingDegree(degree) : identity(n);
+        boolean[] seen = new boolean[n];
+        int[] order = new int[n];
+        long[] scratch = new long[16];
+        int tail = 0;
+        for (int root : roots) {
+            if (seen[root]) continue;
+            seen[root] = true;
+            order[tail++] = root;
+            for (int head = tail - 1; head < tail; head++) {
+                int u = order[head];
+                int start = tail;
+                tail = visit(u, fOffsets, fTargets, seen, order, tail);
+                tail = visit(u, rOffsets, rTargets, seen, order, tail);
+                if (rcm && tail - start > 1) {
+                    int k = tail - start;
+                    if (scratch.length < k) scratch = new long[Math.max(k, 2 * scratch.length)];
+                    for (int i = 0; i < k; i++) scratch[i] = ((long) degree[order[start + i]] << 32) | order[start + i];
+                    Arrays.sort(scratch, 0, k);
+                    for (int i = 0; i < k; i++) order[start + i] = (int) scratch[i];
+                }
+            }
+        }
+        if (rcm) {
+            for (int i = 0, j = n - 1; i < j; i++, j--) {
+                int t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+        }
+        return order;
+    }
+
+    private static int visit(int u, int[] offsets, int[] targets, boolean[] seen, int[] order, int tail) {
+        for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+            int v = targets[i];
+            if (!seen[v]) {
+                seen[v] = true;
+                order[tail++] = v;
+            }
+        }
+        return tail;
+    }
+
+    // Descending total degree, ties by id: a counting sort over the degrees.
+    private static int[] byDegree(CsrGraph g) {
+        int n = g.size();
+        int[] degree = new int[n];
+        int[] offsets = g.offsets();
+        for (int v = 0; v < n; v++) degree[v] += offsets[v + 1] - offsets[v];
+        for (int t : g.targets()) degree[t]++;
+        int[] ascending = ascendingDegree(degree);
+        // Reverse the buckets, not the ids within them.
+        int[] order = new int[n];
+        int pos = 0;
+        for (int end = n; end > 0; ) {
+            int start = end - 1;
+            while (start > 0 && degree[ascending[start - 1]] == degree[ascending[end - 1]]) start--;
+            System.arraycopy(ascending, start, order, pos, end - start);
+            pos += end - start;
+            end = start;
+        }
+        return order;
+    }
+
+    private static int[] ascendingDegree(int[] degree) {
+        int n = degree.length;
+        int max = 0;
+        for (int d : degree) max = Math.max(max, d);
+        int[] bucket = new int[max + 2];
+        for (int d : degree) bucket[d + 1]++;
+        for (int d = 0; d <= max; d++) bucket[d + 1] += bucket[d];
+        int[] order = new int[n];
+        for (int v = 0; v < n; v++) order[bucket[degree[v]]++] = v;
+        return order;
+    }
+
+    private static int[] identity(int n) {
+        int[] ids = new int[n];
+        for (int v = 0; v < n; v++) ids[v] = v;
+        return ids;
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.cli;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.io.BinaryGraphWriter;
+import org.example.io.JsonGraphWriter;
+import org.example.metrics.MetricsSink;
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+
+    @TempDir
+    Path dir;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // a.json: a 3-cycle and a 2-vertex path; sub/b.csrg: a 4-cycle; bad.json: not a graph file.
+    private void writeInputs() throws IOException {
+        try (JsonGraphWriter w = new JsonGraphWriter(dir.resolve("a.json").toString())) {
+            w.beginGraph(3);
+            w.edge(0, 1, 1);
+            w.edge(1, 2, 1);
+            w.edge(2, 0, 1);
+            w.endGraph();
+            w.beginGraph(2);
+            w.edge(0, 1, 4);
+            w.endGraph();
+        }
+        Files.createDirectories(dir.resolve("sub"));
+        try (BinaryGraphWriter w = new BinaryGraphWriter(dir.resolve("sub/b.csrg"))) {
+            CsrGraph.Builder b = new CsrGraph.Builder(4);
+            for (int v = 0; v < 4; v++) b.addEdge(v, (v + 1) % 4, 2);
+            w.write(b.build());
+        }
+        Files.writeString(dir.resolve("bad.json"), "{\"graphs\": [{\"n\": ");
+        Files.writeString(dir.resolve("notes.txt"), "ignored");
+    }
+
+    @Test
+    void testInputsFromDirectoryGlobAndFile() throws IOException {
+        writeInputs();
+        assertEquals(List.of(dir.resolve("a.json"), dir.resolve("bad.json"), dir.resolve("sub/b.csrg")),
+                BatchRunner.inputs(dir.toString()));
+        assertEquals(List.of(dir.resolve("a.json"), dir.resolve("bad.json")), BatchRunner.inputs(dir + "/*.json"));
+        assertEquals(List.of(dir.resolve("sub/b.csrg")), BatchRunner.inputs(dir + "/**.csrg"));
+        assertEquals(dir, BatchRunner.root(dir + "/**.csrg"));
+        assertEquals(List.of(dir.resolve("a.json")), BatchRunner.inputs(dir.resolve("a.json").toString()));
+        assertThrows(IOException.class, () -> BatchRunner.inputs(dir.resolve("missing.json").toString()));
+    }
+
+    @Test
+    void testWritesPerFileResultsAndSummary() throws Exception {
+        writeInputs();
+        Path out = dir.resolve("out");
+        CliOptions options = CliOptions.parse(
+                new String[]{"--out=" + out, "--workers=2", "--in-flight=2", "--compact"});
+        BatchRunner.Summary summary = new BatchRunner(options, null, null)
+                .run(dir, BatchRunner.inputs(dir.toString()));
+
+        assertEquals(List.of("a.json", "bad.json", "sub/b.csrg"), summary.files.stream().map(f -> f.name).toList());
+        assertEquals(1, summary.failed);
+        assertNotNull(summary.files.get(1).error);
+        assertEquals(3, summary.graphs);
+        assertEquals(9, summary.vertices);
+        assertEquals(8, summary.edges);
+
+        JsonNode scc = MAPPER.readTree(out.resolve("a.json.scc.json").toFile()).get("results");
+        assertEquals(2, scc.size());
+        assertEquals(1, scc.get(0).get("components").size());
+        assertEquals(2, scc.get(1).get("graph_id").asInt());
+        assertEquals(2, scc.get(1).get("components").size());
+        assertEquals(1, MAPPER.readTree(out.resolve("sub/b.csrg.dagsp.json").toFile()).get("results").size());
+        assertTrue(Files.exists(out.resolve("sub/b.csrg.topo.json")));
+
+        JsonNode total = MAPPER.readTree(out.resolve(BatchRunner.SUMMARY).toFile()).get("total");
+        assertEquals(3, total.get("files").asInt());
+        assertEquals(1, total.get("failed").asInt());
+        assertEquals(8, total.get("edges").asLong());
+        assertTrue(total.get("graphs_per_sec").asDouble() > 0);
+    }
+
+    @Test
+    void testJsonAndBinaryWithSameStemGetSeparateResults() throws Exception {
+        CsrGraph g = new CsrGraph.Builder(2).addEdge(0, 1, 1).addEdge(1, 0, 1).build();
+        try (JsonGraphWriter w = new JsonGraphWriter(dir.resolve("x.json").toString())) {
+            w.beginGraph(2);
+            w.edge(0, 1, 1);
+            w.edge(1, 0, 1);
+            w.endGraph();
+        }
+        try (BinaryGraphWriter w = new BinaryGraphWriter(dir.resolve("x.csrg"))) {
+            w.write(g);
+        }
+        Path out = dir.resolve("out");
+        CliOptions options = CliOptions.parse(new String[]{"--out=" + out, "--workers=2"});
+        BatchRunner.Summary summary = new BatchRunner(options, null, null)
+                .run(dir, BatchRunner.inputs(dir.toString()));
+
+        assertEquals(0, summary.failed);
+        for (String name : List.of("x.csrg", "x.json")) {
+            for (String kind : List.of("scc", "topo", "dagsp")) {
+                JsonNode results = MAPPER.readTree(out.resolve(name + "." + kind + ".json").toFile()).get("results");
+                assertEquals(1, results.size(), name + " " + kind);
+            }
+        }
+    }
+
+    @Test
+    void testRecordsMetricsForEveryGraph() throws Exception {
+        writeInputs();
+        Path out = dir.resolve("out");
+        Path metricsFile = dir.resolve("metrics.jsonl");
+        CliOptions options = CliOptions.parse(new String[]{"--out=" + out, "--workers=2", "--in-flight=3"});
+        try (MetricsSink sink = MetricsSink.open(metricsFile.toString())) {
+            new BatchRunner(options, null, sink).run(dir, BatchRunner.inputs(dir.toString()));
+        }
+
+        Set<String> scopes;
+        try (var lines = Files.lines(metricsFile)) {
+            scopes = lines.map(line -> {
+                try {
+                    return MAPPER.readTree(line).get("scope").asText();
+                } catch (IOException e) {
+                    throw new AssertionError(line, e);
+                }
+            }).collect(Collectors.toSet());
+        }
+        assertEquals(9, scopes.size());
+        assertTrue(scopes.contains("a.json/graph-2/dagsp"));
+        assertTrue(scopes.contains("sub/b.csrg/graph-1/scc"));
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.cli;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineTest {
+
+    @Test
+    void testResultsKeepSourceOrder() throws Exception {
+        List<Integer> items = IntStream.range(0, 200).boxed().toList();
+        List<String> out = new ArrayList<>();
+
+        new Pipeline<Integer, String>(4, 3).run(items.iterator(), (position, item) -> {
+            if (item % 7 == 0) sleep(2);
+            return position + ":" + item;
+        }, out::add);
+
+        assertEquals(200, out.size());
+        for (int i = 0; i < 200; i++) assertEquals((i + 1) + ":" + i, out.get(i));
+    }
+
+    @Test
+    void testInFlightIsBounded() throws Exception {
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger maxGap = new AtomicInteger();
+        Iterator<Integer> source = new Iterator<>() {
+            @Override public boolean hasNext() { return read.get() < 100; }
+            @Override public Integer next() {
+                maxGap.accumulateAndGet(read.get() - written.get(), Math::max);
+                return read.incrementAndGet();
+            }
+        };
+
+        new Pipeline<Integer, Integer>(2, 4).run(source, (position, item) -> item, result -> {
+            sleep(1);
+            written.incrementAndGet();
+        });
+
+        assertEquals(100, written.get());
+        // Queue slots plus the one result the writer is currently holding.
+        assertTrue(maxGap.get() <= 5, "in flight: " + maxGap.get());
+    }
+
+    @Test
+    void testStageFailureIsRethrown() {
+        List<Integer> items = IntStream.range(0, 50).boxed().toList();
+        List<Integer> out = new ArrayList<>();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+                new Pipeline<Integer, Integer>(3, 2).run(items.iterator(), (position, item) -> {
+                    if (item == 10) throw new IllegalStateException("boom");
+                    return item;
+                }, out::add));
+
+        assertEquals("boom", e.getMessage());
+        assertEquals(IntStream.range(0, 10).boxed().toList(), out);
+    }
+
+    @Test
+    void testSinkIOExceptionIsRethrown() {
+        List<Integer> items = List.of(1, 2, 3);
+        assertThrows(IOException.class, () ->
+                new Pipeline<Integer, Integer>(1, 1).run(items.iterator(), (position, item) -> item, result -> {
+                    throw new IOException("disk full");
+                }));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
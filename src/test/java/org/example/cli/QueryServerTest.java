@@ -0,0 +1,114 @@
+package org.example.cli;
+
+import org.example.graph.dagsp.DAGPaths;
+import org.example.graph.topo.CondensationBuilder;
+import org.example.graph.topo.KahnTopoSort;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryServerTest {
+
+    private final CliOptions options = CliOptions.parse(new String[0]);
+
+    // {0, 1} is a cycle; 1 -> 2 -> 4 and 1 -> 3 -> 4, the upper branch lighter; 5 is isolated.
+    private static CsrGraph graph() {
+        return new CsrGraph.Builder(6)
+                .addEdge(0, 1, 1).addEdge(1, 0, 1)
+                .addEdge(1, 2, 1).addEdge(2, 4, 1)
+                .addEdge(1, 3, 5).addEdge(3, 4, 5).build();
+    }
+
+    @Test
+    void testAnswers() {
+        GraphSnapshot g = GraphSnapshot.build(1, graph(), options);
+        QueryServer server = new QueryServer(List.of(g));
+        int c0 = g.componentOf(0), c2 = g.componentOf(2), c3 = g.componentOf(3), c4 = g.componentOf(4);
+
+        assertEquals("1", server.answer("graphs"));
+        assertEquals("n=6 m=6 components=5", server.answer("info 1"));
+        assertEquals("true", server.answer("same 1 0 1"));
+        assertEquals("false", server.answer("same 1 2 3"));
+        assertEquals("true", server.answer("reach 1 1 4"));
+        assertEquals("false", server.answer("reach 1 4 0"));
+        assertEquals("false", server.answer("reach 1 2 3"));
+        assertEquals("false", server.answer("reach 1 0 5"));
+        assertEquals("2.0 " + c0 + " " + c2 + " " + c4, server.answer("shortest 1 0 4"));
+        assertEquals("10.0 " + c0 + " " + c3 + " " + c4, server.answer("longest 1 1 4"));
+        assertEquals("unreachable", server.answer("shortest 1 4 0"));
+        assertEquals("10.0 " + c0 + " " + c3 + " " + c4, server.answer("critical 1"));
+
+        assertTrue(server.answer("reach 2 0 1").startsWith("error: no graph"));
+        assertTrue(server.answer("reach 1 0").startsWith("error:"));
+        assertTrue(server.answer("reach 1 0 9").startsWith("error: Vertex 9"));
+        assertTrue(server.answer("frobnicate").startsWith("error: unknown query"));
+    }
+
+    @Test
+    void testServeAnswersLineByLineUntilQuit() throws IOException {
+        QueryServer server = new QueryServer(List.of(GraphSnapshot.build(3, graph(), options)));
+        StringWriter out = new StringWriter();
+        server.serve(new StringReader("same 3 0 1\n\nreach 3 4 0\nquit\nsame 3 0 1\n"), out);
+        assertEquals(List.of("true", "error: empty query", "false"), out.toString().lines().toList());
+    }
+
+    @Test
+    void testMatchesTraversalAndDagPaths() {
+        Random rnd = new Random(17);
+        int n = 120;
+        CsrGraph.Builder b = new CsrGraph.Builder(n);
+        for (int i = 0; i < 170; i++) b.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1 + rnd.nextInt(9));
+        CsrGraph graph = b.build();
+
+        for (String reorder : List.of("", "--reorder=rcm")) {
+            CliOptions o = CliOptions.parse(reorder.isEmpty() ? new String[0] : new String[]{reorder});
+            GraphSnapshot g = GraphSnapshot.build(1, graph, o);
+            int[] compId = new int[n];
+            for (int v = 0; v < n; v++) compId[v] = g.componentOf(v);
+            CsrGraph dag = CondensationBuilder.buildWeighted(graph, compId, g.componentCount()).minDag();
+            int[] order = new KahnTopoSort(dag, new PerformanceTracker()).orderArray();
+            DAGPaths paths = new DAGPaths(dag, new PerformanceTracker());
+
+            for (int u = 0; u < n; u += 7) {
+                boolean[] reached = reachable(graph, u);
+                DAGPaths.Result shortest = paths.shortestPaths(new int[]{compId[u]}, order);
+                DAGPaths.Result longest = paths.longestPaths(new int[]{compId[u]}, order);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(reached[v], g.reachable(u, v), u + " -> " + v);
+                    GraphSnapshot.Path s = g.shortest(u, v);
+                    GraphSnapshot.Path l = g.longest(u, v);
+                    assertEquals(reached[v], s != null);
+                    assertEquals(reached[v], l != null);
+                    if (reached[v]) {
+                        assertEquals(shortest.dist[compId[v]], s.length, 1e-9);
+                        assertEquals(longest.dist[compId[v]], l.length, 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean[] reachable(CsrGraph g, int source) {
+        boolean[] seen = new boolean[g.size()];
+        Deque<Integer> stack = new ArrayDeque<>(List.of(source));
+        seen[source] = true;
+        while (!stack.isEmpty()) {
+            int u = stack.pop();
+            for (int i = g.offsets()[u]; i < g.offsets()[u + 1]; i++) {
+                int v = g.targets()[i];
+                if (!seen[v]) {
+                    seen[v] = true;
+                    stack.push(v);
+                }
+            }
+        }
+        return seen;
+    }
+}
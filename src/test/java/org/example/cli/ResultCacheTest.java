@@ -0,0 +1,117 @@
+package org.example.cli;
+
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final CliOptions options = CliOptions.parse(new String[0]);
+
+    private static CsrGraph graph(int n, double w) {
+        CsrGraph.Builder b = new CsrGraph.Builder(n);
+        for (int v = 0; v + 1 < n; v++) b.addEdge(v, v + 1, w);
+        b.addEdge(n - 1, 0, w);
+        b.addEdge(0, n - 1, w);
+        return b.build();
+    }
+
+    private GraphAnalysis analyse(ResultCache cache, int graphId, CsrGraph g, AtomicInteger runs) {
+        return cache.computeIfAbsent(graphId, g, (id, graph) -> {
+            runs.incrementAndGet();
+            return GraphAnalysis.run(id, graph, options);
+        });
+    }
+
+    @Test
+    void testHitSurvivesRestartAndTakesNewGraphId() throws IOException {
+        AtomicInteger runs = new AtomicInteger();
+        GraphAnalysis first = analyse(new ResultCache(dir, 1 << 20, options), 1, graph(5, 2), runs);
+        assertFalse(first.cached);
+
+        ResultCache reopened = new ResultCache(dir, 1 << 20, options);
+        GraphAnalysis second = analyse(reopened, 7, graph(5, 2), runs);
+
+        assertEquals(1, runs.get());
+        assertTrue(second.cached);
+        assertEquals(1, reopened.hits());
+        assertEquals(7, second.scc.get("graph_id"));
+        assertEquals(7, second.dag.get("graph_id"));
+        assertEquals(first.topo.get("derived_task_order"), second.topo.get("derived_task_order"));
+        for (Map<String, Object> section : List.of(second.scc, second.topo, second.dag)) {
+            assertFalse(section.containsKey("metrics"));
+            assertEquals(true, section.get("cached"));
+        }
+        assertTrue(first.scc.containsKey("metrics"));
+
+        // A different weight is a different graph.
+        assertFalse(analyse(reopened, 8, graph(5, 3), runs).cached);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void testCorruptEntryIsRecomputed() throws IOException {
+        AtomicInteger runs = new AtomicInteger();
+        analyse(new ResultCache(dir, 1 << 20, options), 1, graph(4, 1), runs);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.toList()) Files.writeString(p, "{not json");
+        }
+
+        ResultCache cache = new ResultCache(dir, 1 << 20, options);
+        assertFalse(analyse(cache, 1, graph(4, 1), runs).cached);
+        assertEquals(2, runs.get());
+        assertTrue(analyse(cache, 1, graph(4, 1), runs).cached);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvictedOverCap() throws IOException {
+        AtomicInteger runs = new AtomicInteger();
+        ResultCache probe = new ResultCache(dir.resolve("probe"), 1 << 20, options);
+        analyse(probe, 1, graph(6, 1), runs);
+        long entryBytes;
+        try (Stream<Path> files = Files.list(dir.resolve("probe"))) {
+            entryBytes = files.mapToLong(p -> p.toFile().length()).max().orElseThrow();
+        }
+
+        // Room for two entries of this size, not three.
+        ResultCache cache = new ResultCache(dir.resolve("lru"), 2 * entryBytes + entryBytes / 2, options);
+        analyse(cache, 1, graph(6, 1), runs);
+        analyse(cache, 2, graph(6, 2), runs);
+        analyse(cache, 1, graph(6, 1), runs);
+        analyse(cache, 3, graph(6, 3), runs);
+
+        runs.set(0);
+        assertTrue(analyse(cache, 1, graph(6, 1), runs).cached);
+        assertTrue(analyse(cache, 3, graph(6, 3), runs).cached);
+        assertFalse(analyse(cache, 2, graph(6, 2), runs).cached);
+    }
+
+    @Test
+    void testOtherFilesAreNeverEvicted() throws IOException {
+        Path results = dir.resolve("large_scc.json");
+        Files.writeString(results, "{\"results\": []}" + " ".repeat(4096));
+        AtomicInteger runs = new AtomicInteger();
+        // A cap below a single entry evicts everything it owns on every write.
+        ResultCache cache = new ResultCache(dir, 1, options);
+        analyse(cache, 1, graph(5, 1), runs);
+        analyse(cache, 2, graph(5, 2), runs);
+
+        assertTrue(Files.exists(results));
+        ResultCache reopened = new ResultCache(dir, 1 << 20, options);
+        assertTrue(analyse(reopened, 2, graph(5, 2), runs).cached);
+        assertFalse(analyse(reopened, 1, graph(5, 1), runs).cached);
+        assertTrue(Files.exists(results));
+    }
+}
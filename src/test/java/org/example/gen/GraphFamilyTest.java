@@ -0,0 +1,120 @@
+package org.example.gen;
+
+import org.example.graph.scc.Tarjan;
+import org.example.io.GraphReader;
+import org.example.io.GraphSource;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphFamilyTest {
+
+    @TempDir
+    Path dir;
+
+    private static Tarjan scc(CsrGraph g) {
+        Tarjan t = new Tarjan(g, new PerformanceTracker());
+        t.run();
+        return t;
+    }
+
+    @Test
+    void testDeterministicAndExactEdgeCount() throws IOException {
+        for (GraphFamily f : GraphFamily.values()) {
+            CsrGraph a = GraphGen.generate(f, 500, 3000, 7);
+            CsrGraph b = GraphGen.generate(f, 500, 3000, 7);
+            CsrGraph c = GraphGen.generate(f, 500, 3000, 8);
+
+            assertEquals(3000, a.edgeCount(), f.key());
+            assertArrayEquals(a.targets(), b.targets(), f.key());
+            assertArrayEquals(a.weights(), b.weights(), 0.0, f.key());
+            assertFalse(Arrays.equals(a.targets(), c.targets()), f.key());
+            for (int u = 0; u < a.size(); u++) {
+                for (int i = a.offsets()[u]; i < a.offsets()[u + 1]; i++) {
+                    assertNotEquals(u, a.targets()[i], f.key() + " self-loop");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLayeredDagSccsAreThePlantedBlocks() throws IOException {
+        int n = 64 * 16;
+        Tarjan t = scc(GraphGen.generate(GraphFamily.LAYERED_DAG, n, 5 * n, 1));
+
+        assertEquals(n / GraphFamily.PLANTED_SCC, t.count());
+        for (List<Integer> comp : t.getComponents()) assertEquals(GraphFamily.PLANTED_SCC, comp.size());
+    }
+
+    @Test
+    void testDeepChainIsAcyclicPath() throws IOException {
+        int n = 2000;
+        CsrGraph g = GraphGen.generate(GraphFamily.DEEP_CHAIN, n, 3 * n, 3);
+
+        assertEquals(n, scc(g).count());
+        for (int v = 0; v + 1 < n; v++) assertEquals(v + 1, g.targets()[g.offsets()[v]]);
+    }
+
+    @Test
+    void testGiantSccHoldsEveryVertex() throws IOException {
+        Tarjan t = scc(GraphGen.generate(GraphFamily.GIANT_SCC, 1000, 3000, 4));
+        assertEquals(1, t.count());
+    }
+
+    @Test
+    void testTinySccsAreTheTriangles() throws IOException {
+        int n = 301;
+        Tarjan t = scc(GraphGen.generate(GraphFamily.TINY_SCCS, n, 5 * n, 6));
+
+        int triangles = (n - 1) / 3;
+        assertEquals(triangles + n - 3 * triangles, t.count());
+        for (List<Integer> comp : t.getComponents()) {
+            int v = comp.get(0);
+            assertEquals(v < 3 * triangles ? 3 : 1, comp.size(), "component of " + v);
+        }
+    }
+
+    @Test
+    void testRmatDegreesAreSkewed() throws IOException {
+        int n = 1 << 12;
+        CsrGraph g = GraphGen.generate(GraphFamily.RMAT, n, 16L * n, 5);
+
+        int max = 0;
+        for (int v = 0; v < n; v++) max = Math.max(max, g.outDegree(v));
+        assertTrue(max > 20 * 16, "max out-degree " + max);
+    }
+
+    @Test
+    void testJsonAndBinaryOutputsAgree() throws IOException {
+        Path json = dir.resolve("g.json");
+        Path bin = dir.resolve("g" + GraphReader.BINARY_EXTENSION);
+        GraphGen.writeJson(json.toString(), GraphFamily.RMAT, 300, 1200, 11, 2);
+        GraphGen.writeBinary(bin, GraphFamily.RMAT, 300, 1200, 11, 2);
+
+        try (GraphSource a = GraphReader.open(json.toString()); GraphSource b = GraphReader.open(bin.toString())) {
+            for (int i = 0; i < 2; i++) {
+                CsrGraph x = a.next();
+                CsrGraph y = b.next();
+                assertArrayEquals(x.offsets(), y.offsets());
+                assertArrayEquals(x.targets(), y.targets());
+                assertArrayEquals(x.weights(), y.weights(), 0.0);
+            }
+            assertFalse(a.hasNext());
+            assertFalse(b.hasNext());
+        }
+    }
+
+    @Test
+    void testUnknownFamilyRejected() {
+        assertThrows(IllegalArgumentException.class, () -> GraphFamily.of("grid"));
+        assertEquals(GraphFamily.DEEP_CHAIN, GraphFamily.of("chain"));
+    }
+}
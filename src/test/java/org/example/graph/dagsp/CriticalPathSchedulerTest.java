@@ -0,0 +1,154 @@
+package org.example.graph.dagsp;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriticalPathSchedulerTest {
+
+    // 0 -> 1 -> 3 and 0 -> 2 -> 3, where 2 -> 3 carries a lag of 1.
+    private static CsrGraph diamond() {
+        return new CsrGraph.Builder(4)
+                .addEdge(0, 1, 0).addEdge(0, 2, 0).addEdge(1, 3, 0).addEdge(2, 3, 1).build();
+    }
+
+    @Test
+    void testStartTimesAndSlack() {
+        PerformanceTracker m = new PerformanceTracker();
+        CriticalPathScheduler cpm = new CriticalPathScheduler(diamond(), new double[]{2, 3, 1, 2}, m)
+                .run(new int[]{0, 1, 2, 3});
+
+        assertEquals(7.0, cpm.length(), 1e-9);
+        assertArrayEquals(new double[]{0, 2, 2, 5}, cpm.earliestStart(), 1e-9);
+        assertArrayEquals(new double[]{0, 2, 3, 5}, cpm.latestStart(), 1e-9);
+        assertArrayEquals(new double[]{0, 0, 1, 0}, cpm.slack(), 1e-9);
+        assertArrayEquals(new int[]{0, 1, 3}, cpm.criticalNodes());
+        assertEquals(List.of(0, 1, 3), cpm.criticalPath());
+        assertTrue(m.getRelaxations() > 0);
+
+        List<CriticalPathScheduler.WeightedPath> top = cpm.topPaths(5);
+        assertEquals(2, top.size());
+        assertEquals(7.0, top.get(0).length, 1e-9);
+        assertEquals(List.of(0, 1, 3), top.get(0).nodes);
+        assertEquals(6.0, top.get(1).length, 1e-9);
+        assertEquals(List.of(0, 2, 3), top.get(1).nodes);
+    }
+
+    @Test
+    void testListSchedule() {
+        CriticalPathScheduler cpm = new CriticalPathScheduler(diamond(), new double[]{2, 3, 1, 2},
+                new PerformanceTracker()).run(new int[]{0, 1, 2, 3});
+
+        CriticalPathScheduler.Schedule one = cpm.schedule(1);
+        assertArrayEquals(new double[]{0, 2, 5, 7}, one.start, 1e-9);
+        assertEquals(9.0, one.makespan, 1e-9);
+
+        CriticalPathScheduler.Schedule two = cpm.schedule(2);
+        assertArrayEquals(new double[]{0, 2, 2, 5}, two.start, 1e-9);
+        assertEquals(7.0, two.makespan, 1e-9);
+        assertNotEquals(two.worker[1], two.worker[2]);
+    }
+
+    @Test
+    void testMoreWorkersThanReadyTasks() {
+        // Both successors of 0 wait for it, even with a third worker idle from time 0.
+        CsrGraph g = new CsrGraph.Builder(3).addEdge(0, 1, 0).addEdge(0, 2, 0).build();
+        CriticalPathScheduler cpm = new CriticalPathScheduler(g, new double[]{1, 1, 1},
+                new PerformanceTracker()).run(new int[]{0, 1, 2});
+        CriticalPathScheduler.Schedule three = cpm.schedule(3);
+        assertArrayEquals(new double[]{0, 1, 1}, three.start, 1e-9);
+        assertEquals(2.0, three.makespan, 1e-9);
+    }
+
+    @Test
+    void testScheduleRespectsPrecedenceAndWorkers() {
+        Random rnd = new Random(21);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = 2 + rnd.nextInt(25);
+            CsrGraph g = randomDag(rnd, n, rnd.nextInt(3 * n));
+            double[] durations = new double[n];
+            for (int v = 0; v < n; v++) durations[v] = 1 + rnd.nextInt(4);
+            int[] order = new int[n];
+            for (int v = 0; v < n; v++) order[v] = v;
+            CriticalPathScheduler cpm = new CriticalPathScheduler(g, durations, new PerformanceTracker()).run(order);
+
+            for (int workers = 1; workers <= 6; workers++) {
+                CriticalPathScheduler.Schedule s = cpm.schedule(workers);
+                for (int u = 0; u < n; u++) {
+                    for (int i = g.offsets()[u]; i < g.offsets()[u + 1]; i++) {
+                        int v = g.targets()[i];
+                        assertTrue(s.start[v] >= s.start[u] + durations[u] + g.weights()[i] - 1e-9, u + " -> " + v);
+                    }
+                    for (int v = u + 1; v < n; v++) {
+                        if (s.worker[u] != s.worker[v]) continue;
+                        assertTrue(s.start[u] + durations[u] <= s.start[v] + 1e-9
+                                || s.start[v] + durations[v] <= s.start[u] + 1e-9, u + " and " + v + " overlap");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testZeroDurationsMatchLongestPaths() {
+        CsrGraph g = randomDag(new Random(3), 30, 80);
+        int[] order = new int[30];
+        for (int v = 0; v < 30; v++) order[v] = v;
+        DAGPaths paths = new DAGPaths(g, new PerformanceTracker());
+        CriticalPathScheduler cpm = new CriticalPathScheduler(g, new double[30], new PerformanceTracker()).run(order);
+
+        assertArrayEquals(paths.longestPaths(paths.roots(), order).dist, cpm.earliestStart(), 1e-9);
+        for (double s : cpm.slack()) assertTrue(s >= -1e-9);
+    }
+
+    @Test
+    void testTopPathsMatchEnumeration() {
+        Random rnd = new Random(8);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 2 + rnd.nextInt(10);
+            CsrGraph g = randomDag(rnd, n, rnd.nextInt(3 * n));
+            double[] durations = new double[n];
+            for (int v = 0; v < n; v++) durations[v] = rnd.nextInt(4);
+            int[] order = new int[n];
+            for (int v = 0; v < n; v++) order[v] = v;
+
+            List<Double> expected = new ArrayList<>();
+            boolean[] hasIn = new boolean[n];
+            for (int v : g.targets()) hasIn[v] = true;
+            for (int v = 0; v < n; v++) {
+                if (!hasIn[v]) enumerate(g, durations, v, 0.0, expected);
+            }
+            expected.sort(Comparator.reverseOrder());
+
+            CriticalPathScheduler cpm = new CriticalPathScheduler(g, durations, new PerformanceTracker()).run(order);
+            List<CriticalPathScheduler.WeightedPath> top = cpm.topPaths(6);
+            assertEquals(Math.min(6, expected.size()), top.size());
+            for (int i = 0; i < top.size(); i++) assertEquals(expected.get(i), top.get(i).length, 1e-9);
+            assertEquals(expected.get(0), cpm.length(), 1e-9);
+        }
+    }
+
+    private static void enumerate(CsrGraph g, double[] durations, int u, double start, List<Double> out) {
+        int[] offsets = g.offsets();
+        if (offsets[u] == offsets[u + 1]) {
+            out.add(start + durations[u]);
+            return;
+        }
+        for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+            enumerate(g, durations, g.targets()[i], start + durations[u] + g.weights()[i], out);
+        }
+    }
+
+    private static CsrGraph randomDag(Random rnd, int n, int m) {
+        CsrGraph.Builder b = new CsrGraph.Builder(n);
+        for (int i = 0; i < m; i++) {
+            int u = rnd.nextInt(n - 1);
+            b.addEdge(u, u + 1 + rnd.nextInt(n - u - 1), rnd.nextInt(5));
+        }
+        return b.build();
+    }
+}
@@ -118,4 +118,93 @@ class DAGPathsTest {
         assertTrue(m.getRelaxations() > 0, "Relaxations should be counted");
         assertTrue(m.getTimeMs() >= 0, "Execution time must be measured");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSuperSourceTakesNearestRoot() {
+        // Two roots: 0 -> 2 (w 5) and 1 -> 2 (w 1), then 2 -> 3 (w 2).
+        List<Edge> edges = List.of(new Edge(0, 2, 5), new Edge(1, 2, 1), new Edge(2, 3, 2));
+        DAGPaths dag = new DAGPaths(4, edges, new PerformanceTracker());
+        int[] topo = {0, 1, 2, 3};
+
+        assertArrayEquals(new int[]{0, 1}, dag.roots());
+        var shortest = dag.shortestPaths(dag.roots(), topo);
+        var longest = dag.longestPaths(dag.roots(), topo);
+
+        assertArrayEquals(new double[]{0, 0, 1, 3}, shortest.dist, 1e-9);
+        assertEquals(List.of(1, 2, 3), DAGPaths.reconstructPath(3, shortest.parent));
+        assertArrayEquals(new double[]{0, 0, 5, 7}, longest.dist, 1e-9);
+        assertEquals(List.of(0, 2, 3), DAGPaths.reconstructPath(3, longest.parent));
+    }
+
+    @Test
+    void testBatchedRowsMatchSingleSource() {
+        Random rnd = new Random(17);
+        int n = 60;
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 240; i++) {
+            int u = rnd.nextInt(n - 1);
+            int v = u + 1 + rnd.nextInt(n - u - 1);
+            edges.add(new Edge(u, v, 1 + rnd.nextInt(9)));
+        }
+        PerformanceTracker m = new PerformanceTracker();
+        DAGPaths dag = new DAGPaths(n, edges, m);
+        List<Integer> topo = new ArrayList<>();
+        for (int v = 0; v < n; v++) topo.add(v);
+        int[] order = topo.stream().mapToInt(Integer::intValue).toArray();
+        // More sources than one block, including a repeated one.
+        int[] sources = new int[2 * DAGPaths.BLOCK + 3];
+        for (int k = 0; k < sources.length; k++) sources[k] = rnd.nextInt(n);
+        sources[1] = sources[0];
+
+        for (int threads : new int[]{1, 3}) {
+            double[][] shortest = dag.shortestDistances(sources, order, threads);
+            double[][] longest = dag.longestDistances(sources, order, threads);
+            for (int k = 0; k < sources.length; k++) {
+                assertArrayEquals(dag.shortestPaths(sources[k], topo).dist, shortest[k], 1e-9);
+                assertArrayEquals(dag.longestPaths(sources[k], topo).dist, longest[k], 1e-9);
+            }
+        }
+        assertTrue(m.getPhases().containsKey("shortest_batched"));
+    }
+
+    @Test
+    void testBlockShrinksWhenRowsWouldOverflowAnArray() {
+        assertEquals(DAGPaths.BLOCK, DAGPaths.blockWidth(1_000_000));
+        assertEquals(7, DAGPaths.blockWidth(300_000_000));
+        assertEquals(1, DAGPaths.blockWidth(Integer.MAX_VALUE - 8));
+        for (int n : new int[]{268_435_456, 500_000_000, 2_000_000_000}) {
+            assertTrue((long) n * DAGPaths.blockWidth(n) <= Integer.MAX_VALUE - 8, "n=" + n);
+        }
+    }
+
+    @Test
+    void testFusedMatchesSeparateRuns() {
+        Random rnd = new Random(5);
+        int n = 40;
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            int u = rnd.nextInt(n - 1);
+            int v = u + 1 + rnd.nextInt(n - u - 1);
+            edges.add(new Edge(u, v, rnd.nextInt(9) - 2));
+        }
+        List<Integer> topo = new ArrayList<>();
+        for (int v = 0; v < n; v++) topo.add(v);
+        int[] order = topo.stream().mapToInt(Integer::intValue).toArray();
+
+        PerformanceTracker separate = new PerformanceTracker();
+        DAGPaths a = new DAGPaths(n, edges, separate);
+        PerformanceTracker fused = new PerformanceTracker();
+        DAGPaths b = new DAGPaths(n, edges, fused);
+        for (int source : new int[]{0, 7, n - 1}) {
+            var shortest = a.shortestPaths(source, topo);
+            var longest = a.longestPaths(source, topo);
+            var both = b.shortestAndLongest(source, order);
+
+            assertArrayEquals(shortest.dist, both.shortest.dist, 1e-9);
+            assertArrayEquals(shortest.parent, both.shortest.parent);
+            assertArrayEquals(longest.dist, both.longest.dist, 1e-9);
+            assertArrayEquals(longest.parent, both.longest.parent);
+        }
+        assertEquals(separate.getRelaxations(), fused.getRelaxations());
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.graph.scc;
 
+import org.example.model.CsrGraph;
 import org.example.model.Graph;
 import org.example.metrics.PerformanceTracker;
 import org.junit.jupiter.api.Test;
@@ -127,4 +128,42 @@ public class KosarajuTest {
         assertTrue(m.getDfsVisits() > 0);
         assertTrue(m.getEdgesExplored() > 0);
     }
+
+    @Test
+    void testIterativeMatchesRecursive() {
+        Random rnd = new Random(42);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + rnd.nextInt(60);
+            CsrGraph.Builder b = new CsrGraph.Builder(n);
+            int m = rnd.nextInt(3 * n);
+            for (int i = 0; i < m; i++) b.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1);
+            CsrGraph g = b.build();
+
+            PerformanceTracker mRec = new PerformanceTracker();
+            PerformanceTracker mIt = new PerformanceTracker();
+            Kosaraju rec = new Kosaraju(g, mRec, Kosaraju.Mode.RECURSIVE);
+            Kosaraju it = new Kosaraju(g, mIt, Kosaraju.Mode.ITERATIVE);
+            rec.run();
+            it.run();
+
+            assertArrayEquals(rec.getComponentIds(), it.getComponentIds());
+            assertEquals(rec.getComponents(), it.getComponents());
+            assertEquals(mRec.getDfsVisits(), mIt.getDfsVisits());
+            assertEquals(mRec.getEdgesExplored(), mIt.getEdgesExplored());
+        }
+    }
+
+    @Test
+    void testIterativeHandlesLongChain() {
+        int n = 500_000;
+        CsrGraph.Builder b = new CsrGraph.Builder(n, n);
+        for (int v = 0; v + 1 < n; v++) b.addEdge(v, v + 1, 1);
+        b.addEdge(n - 1, 0, 1);
+
+        Kosaraju scc = new Kosaraju(b.build(), new PerformanceTracker(), Kosaraju.Mode.ITERATIVE);
+        scc.run();
+
+        assertEquals(1, scc.count());
+        assertEquals(n, scc.getComponents().get(0).size());
+    }
 }
@@ -0,0 +1,92 @@
+package org.example.graph.scc;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSccTest {
+
+    @Test
+    void testSmallGraphsMatchKosaraju() {
+        Random rnd = new Random(11);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = 1 + rnd.nextInt(100);
+            CsrGraph g = randomGraph(rnd, n, rnd.nextInt(3 * n));
+            assertSameDecomposition(g, 3);
+        }
+    }
+
+    @Test
+    void testLargeGraphsUseForwardBackward() {
+        Random rnd = new Random(5);
+        int n = 3 * ParallelScc.SEQUENTIAL_CUTOFF;
+
+        assertSameDecomposition(randomGraph(rnd, n, 2 * n), 4);
+
+        // Long ring of small cycles: nothing is trimmed and FW-BW has to split repeatedly.
+        CsrGraph.Builder b = new CsrGraph.Builder(n, 2 * n);
+        for (int v = 0; v + 1 < n; v++) {
+            b.addEdge(v, v + 1, 1);
+            if (v % 3 == 2) b.addEdge(v, v - 2, 1);
+        }
+        b.addEdge(n - 1, n - 3, 1);
+        assertSameDecomposition(b.build(), 4);
+    }
+
+    @Test
+    void testIdsIndependentOfThreadCount() {
+        Random rnd = new Random(9);
+        int n = 2 * ParallelScc.SEQUENTIAL_CUTOFF + 17;
+        CsrGraph g = randomGraph(rnd, n, (int) (1.5 * n));
+
+        ParallelScc one = new ParallelScc(g, new PerformanceTracker(), 1);
+        ParallelScc many = new ParallelScc(g, new PerformanceTracker(), 4);
+        one.run();
+        many.run();
+
+        assertArrayEquals(one.getComponentIds(), many.getComponentIds());
+        assertEquals(one.getComponents(), many.getComponents());
+    }
+
+    @Test
+    void testEmptyGraphAndBadParallelism() {
+        ParallelScc scc = new ParallelScc(new CsrGraph.Builder(0).build(), new PerformanceTracker(), 2);
+        scc.run();
+        assertEquals(0, scc.count());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelScc(new CsrGraph.Builder(1).build(), new PerformanceTracker(), 0));
+    }
+
+    private static CsrGraph randomGraph(Random rnd, int n, int m) {
+        CsrGraph.Builder b = new CsrGraph.Builder(n, m);
+        for (int i = 0; i < m; i++) b.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1);
+        return b.build();
+    }
+
+    private static void assertSameDecomposition(CsrGraph g, int threads) {
+        Kosaraju k = new Kosaraju(g, new PerformanceTracker(), Kosaraju.Mode.ITERATIVE);
+        PerformanceTracker m = new PerformanceTracker();
+        ParallelScc p = new ParallelScc(g, m, threads);
+        k.run();
+        p.run();
+
+        assertEquals(k.count(), p.count());
+        Set<Set<Integer>> expected = new HashSet<>();
+        for (List<Integer> c : k.getComponents()) expected.add(new HashSet<>(c));
+        Set<Set<Integer>> actual = new HashSet<>();
+        for (List<Integer> c : p.getComponents()) actual.add(new HashSet<>(c));
+        assertEquals(expected, actual);
+
+        int[] ids = p.getComponentIds();
+        for (int u = 0; u < g.size(); u++) {
+            for (int i = g.offsets()[u]; i < g.offsets()[u + 1]; i++) {
+                assertTrue(ids[u] <= ids[g.targets()[i]], "Component ids must be topological");
+            }
+        }
+        assertTrue(g.size() == 0 || m.getDfsVisits() > 0);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.graph.scc;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.example.model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TarjanTest {
+
+    @Test
+    void testTwoCyclesJoinedByEdge() {
+        Graph g = new Graph(6);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 0, 1);
+        g.addEdge(2, 3, 1);
+        g.addEdge(3, 4, 1);
+        g.addEdge(4, 5, 1);
+        g.addEdge(5, 3, 1);
+
+        Tarjan scc = new Tarjan(g, new PerformanceTracker());
+        scc.run();
+
+        int[] ids = scc.getComponentIds();
+        assertEquals(2, scc.count());
+        assertEquals(ids[0], ids[1]);
+        assertEquals(ids[1], ids[2]);
+        assertEquals(ids[3], ids[5]);
+        assertTrue(ids[2] < ids[3], "Condensation edge must go from lower to higher id");
+    }
+
+    @Test
+    void testSamePartitionAsKosaraju() {
+        Random rnd = new Random(7);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = 1 + rnd.nextInt(80);
+            CsrGraph.Builder b = new CsrGraph.Builder(n);
+            int m = rnd.nextInt(2 * n);
+            for (int i = 0; i < m; i++) b.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1);
+            CsrGraph g = b.build();
+
+            Kosaraju k = new Kosaraju(g, new PerformanceTracker());
+            Tarjan t = new Tarjan(g, new PerformanceTracker());
+            k.run();
+            t.run();
+
+            assertEquals(k.count(), t.count());
+            assertEquals(partition(k), partition(t));
+            int[] ids = t.getComponentIds();
+            for (int u = 0; u < n; u++) {
+                for (int i = g.offsets()[u]; i < g.offsets()[u + 1]; i++) {
+                    assertTrue(ids[u] <= ids[g.targets()[i]]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSinglePassHalvesWork() {
+        Graph g = new Graph(4);
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, 1);
+        g.addEdge(2, 0, 1);
+        g.addEdge(2, 3, 1);
+
+        PerformanceTracker mk = new PerformanceTracker();
+        PerformanceTracker mt = new PerformanceTracker();
+        new Kosaraju(g, mk).run();
+        new Tarjan(g, mt).run();
+
+        assertEquals(4, mt.getEdgesExplored());
+        assertEquals(4, mt.getDfsVisits());
+        assertEquals(2 * mt.getEdgesExplored(), mk.getEdgesExplored());
+    }
+
+    @Test
+    void testEngineFactory() {
+        CsrGraph g = new CsrGraph.Builder(2).addEdge(0, 1, 1).build();
+        for (String engine : SccAlgorithm.ENGINES) {
+            SccAlgorithm scc = SccAlgorithm.create(engine, g, new PerformanceTracker());
+            scc.run();
+            assertEquals(2, scc.count(), engine);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> SccAlgorithm.create("nope", g, new PerformanceTracker()));
+    }
+
+    private static Set<Set<Integer>> partition(SccAlgorithm scc) {
+        Set<Set<Integer>> parts = new HashSet<>();
+        for (List<Integer> c : scc.getComponents()) parts.add(new HashSet<>(c));
+        return parts;
+    }
+}
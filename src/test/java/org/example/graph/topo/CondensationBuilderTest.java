@@ -0,0 +1,81 @@
+package org.example.graph.topo;
+
+import org.example.graph.scc.Kosaraju;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CondensationBuilderTest {
+
+    @Test
+    void testCsrDeduplicatesParallelEdges() {
+        CsrGraph g = new CsrGraph.Builder(4)
+                .addEdge(0, 1, 1)
+                .addEdge(1, 0, 1)
+                .addEdge(0, 2, 1)
+                .addEdge(1, 2, 1)
+                .addEdge(1, 3, 1)
+                .addEdge(0, 2, 1)
+                .build();
+        int[] compId = {0, 0, 1, 2};
+
+        CsrGraph dag = CondensationBuilder.buildCsr(g, compId, 3);
+
+        assertEquals(3, dag.size());
+        assertEquals(2, dag.edgeCount());
+        assertArrayEquals(new int[]{0, 2, 2, 2}, dag.offsets());
+        assertArrayEquals(new int[]{1, 2}, dag.targets());
+    }
+
+    @Test
+    void testCsrMatchesSetBasedCondensation() {
+        Random rnd = new Random(3);
+        for (int trial = 0; trial < 25; trial++) {
+            int n = 1 + rnd.nextInt(70);
+            CsrGraph.Builder b = new CsrGraph.Builder(n);
+            int m = rnd.nextInt(3 * n);
+            for (int i = 0; i < m; i++) b.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1);
+            CsrGraph g = b.build();
+
+            Kosaraju scc = new Kosaraju(g, new PerformanceTracker());
+            scc.run();
+            List<Set<Integer>> sets = CondensationBuilder.build(g, scc.getComponentIds(), scc.count());
+            CsrGraph csr = CondensationBuilder.buildCsr(g, scc.getComponentIds(), scc.count());
+
+            assertEquals(CondensationBuilder.edgesAsList(sets), CondensationBuilder.edgesAsList(csr));
+
+            List<Integer> fromSets = new KahnTopoSort(sets, new PerformanceTracker()).order();
+            KahnTopoSort fromCsr = new KahnTopoSort(csr, new PerformanceTracker());
+            int[] ids = fromCsr.orderArray();
+            assertTrue(fromCsr.isDag());
+            assertEquals(fromSets, Arrays.stream(ids).boxed().toList());
+            assertEquals(fromSets, fromCsr.getOrder());
+        }
+    }
+
+    @Test
+    void testWeightedKeepsMinAndMax() {
+        CsrGraph g = new CsrGraph.Builder(4)
+                .addEdge(0, 1, 1)
+                .addEdge(1, 0, 1)
+                .addEdge(0, 2, 5)
+                .addEdge(1, 2, 2)
+                .addEdge(1, 3, 4)
+                .addEdge(0, 2, 7)
+                .addEdge(2, 3, 3)
+                .build();
+        int[] compId = {0, 0, 1, 2};
+
+        Condensation c = CondensationBuilder.buildWeighted(g, compId, 3);
+
+        assertEquals(3, c.edgeCount());
+        assertArrayEquals(CondensationBuilder.buildCsr(g, compId, 3).targets(), c.minDag().targets());
+        assertArrayEquals(new int[]{1, 2, 2}, c.minDag().targets());
+        assertArrayEquals(new double[]{2, 4, 3}, c.minDag().weights(), 1e-9);
+        assertArrayEquals(new double[]{7, 4, 3}, c.maxDag().weights(), 1e-9);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.graph.topo;
+
+import org.example.graph.scc.Tarjan;
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalCondensationTest {
+
+    private static CsrGraph graph(int n, int[][] edges) {
+        CsrGraph.Builder b = new CsrGraph.Builder(n);
+        for (int[] e : edges) b.addEdge(e[0], e[1], 1.0);
+        return b.build();
+    }
+
+    @Test
+    void testBackEdgeMergesCycle() {
+        IncrementalCondensation inc = new IncrementalCondensation(
+                graph(4, new int[][]{{0, 1}, {1, 2}, {2, 3}}), new PerformanceTracker());
+        assertEquals(4, inc.count());
+
+        inc.addEdge(2, 0);
+
+        assertEquals(2, inc.count());
+        assertEquals(inc.componentOf(0), inc.componentOf(2));
+        assertArrayEquals(new int[]{0, 0, 0, 1}, inc.componentIds());
+        assertEquals(1, inc.condensation().edgeCount());
+    }
+
+    @Test
+    void testInsertionAgainstOrderReorders() {
+        // 0 -> 1 and 2 -> 3 are independent; 3 -> 0 forces 2, 3 ahead of 0, 1.
+        IncrementalCondensation inc = new IncrementalCondensation(
+                graph(4, new int[][]{{0, 1}, {2, 3}}), new PerformanceTracker());
+
+        inc.addEdge(3, 0);
+
+        assertEquals(4, inc.count());
+        int[] ids = inc.componentIds();
+        assertTrue(ids[2] < ids[3] && ids[3] < ids[0] && ids[0] < ids[1]);
+    }
+
+    @Test
+    void testDeletionSplitsComponent() {
+        PerformanceTracker m = new PerformanceTracker();
+        IncrementalCondensation inc = new IncrementalCondensation(
+                graph(3, new int[][]{{0, 1}, {1, 2}, {2, 0}, {2, 0}}), m);
+        assertEquals(1, inc.count());
+
+        // One of two parallel copies: still a cycle.
+        assertTrue(inc.removeEdge(2, 0));
+        assertEquals(1, inc.count());
+
+        assertTrue(inc.removeEdge(2, 0));
+        assertEquals(3, inc.count());
+        assertArrayEquals(new int[]{0, 1, 2}, inc.componentIds());
+        assertFalse(inc.removeEdge(2, 0));
+        assertTrue(m.getDfsVisits() > 0);
+    }
+
+    @Test
+    void testRandomUpdatesMatchRecomputation() {
+        Random rnd = new Random(11);
+        for (int round = 0; round < 40; round++) {
+            int n = 2 + rnd.nextInt(20);
+            List<int[]> edges = new ArrayList<>();
+            for (int i = rnd.nextInt(2 * n); i > 0; i--) edges.add(new int[]{rnd.nextInt(n), rnd.nextInt(n)});
+            IncrementalCondensation inc = new IncrementalCondensation(
+                    graph(n, edges.toArray(new int[0][])), new PerformanceTracker());
+
+            for (int step = 0; step < 60; step++) {
+                if (edges.isEmpty() || rnd.nextBoolean()) {
+                    int[] e = {rnd.nextInt(n), rnd.nextInt(n)};
+                    edges.add(e);
+                    inc.addEdge(e[0], e[1]);
+                } else {
+                    int[] e = edges.remove(rnd.nextInt(edges.size()));
+                    assertTrue(inc.removeEdge(e[0], e[1]));
+                }
+                assertConsistent(n, edges, inc);
+            }
+        }
+    }
+
+    private static void assertConsistent(int n, List<int[]> edges, IncrementalCondensation inc) {
+        Tarjan scc = new Tarjan(graph(n, edges.toArray(new int[0][])), new PerformanceTracker());
+        scc.run();
+        int[] expected = scc.getComponentIds();
+        int[] actual = inc.componentIds();
+        assertEquals(scc.count(), inc.count());
+        for (int u = 0; u < n; u++) {
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected[u] == expected[v], actual[u] == actual[v]);
+            }
+        }
+
+        Set<Long> dagEdges = new HashSet<>();
+        for (int[] e : edges) {
+            assertTrue(actual[e[0]] <= actual[e[1]], "edge against topological order");
+            if (actual[e[0]] != actual[e[1]]) dagEdges.add((long) actual[e[0]] << 32 | actual[e[1]]);
+        }
+        CsrGraph dag = inc.condensation();
+        assertEquals(dagEdges.size(), dag.edgeCount());
+        for (int c = 0; c < dag.size(); c++) {
+            for (int i = dag.offsets()[c]; i < dag.offsets()[c + 1]; i++) {
+                assertTrue(dagEdges.contains((long) c << 32 | dag.targets()[i]));
+            }
+        }
+    }
+}
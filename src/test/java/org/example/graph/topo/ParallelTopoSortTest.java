@@ -0,0 +1,73 @@
+package org.example.graph.topo;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTopoSortTest {
+
+    @Test
+    void testLevelsAreLongestPathLengths() {
+        // 0 -> 1 -> 3, 0 -> 3, 2 -> 3: 3 sits behind the longer chain.
+        CsrGraph dag = new CsrGraph.Builder(4)
+                .addEdge(0, 1, 1).addEdge(1, 3, 1).addEdge(0, 3, 1).addEdge(2, 3, 1).build();
+        PerformanceTracker m = new PerformanceTracker();
+        ParallelTopoSort topo = new ParallelTopoSort(dag, m, 2);
+
+        assertArrayEquals(new int[]{0, 2, 1, 3}, topo.orderArray());
+        assertArrayEquals(new int[]{0, 1, 0, 2}, topo.levels());
+        assertArrayEquals(new int[]{0, 2, 3, 4}, topo.levelOffsets());
+        assertEquals(3, topo.levelCount());
+        assertTrue(topo.isDag());
+        assertEquals(4, m.getPops());
+        assertEquals(4, m.getEdgesExplored());
+    }
+
+    @Test
+    void testCycleLeavesVerticesUnordered() {
+        CsrGraph g = new CsrGraph.Builder(4)
+                .addEdge(0, 1, 1).addEdge(1, 2, 1).addEdge(2, 1, 1).addEdge(2, 3, 1).build();
+        ParallelTopoSort topo = new ParallelTopoSort(g, new PerformanceTracker(), 2);
+
+        assertArrayEquals(new int[]{0}, topo.orderArray());
+        assertFalse(topo.isDag());
+        assertArrayEquals(new int[]{0, -1, -1, -1}, topo.levels());
+    }
+
+    @Test
+    void testWideLevelsIndependentOfThreadCount() {
+        Random rnd = new Random(21);
+        int width = 3 * ParallelTopoSort.FRONTIER_CHUNK;
+        int layers = 5;
+        int n = width * layers;
+        CsrGraph.Builder b = new CsrGraph.Builder(n, 3 * n);
+        for (int v = width; v < n; v++) {
+            int layer = v / width;
+            for (int k = 0; k < 3; k++) b.addEdge(rnd.nextInt(layer * width), v, 1);
+        }
+        CsrGraph dag = b.build();
+
+        ParallelTopoSort one = new ParallelTopoSort(dag, new PerformanceTracker(), 1);
+        ParallelTopoSort many = new ParallelTopoSort(dag, new PerformanceTracker(), 4);
+        int[] order = one.orderArray();
+        assertArrayEquals(order, many.orderArray());
+        assertArrayEquals(one.levels(), many.levels());
+
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) position[order[i]] = i;
+        int[] offsets = dag.offsets();
+        int[] targets = dag.targets();
+        int[] levels = one.levels();
+        for (int u = 0; u < n; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                assertTrue(position[u] < position[targets[i]]);
+                assertTrue(levels[u] < levels[targets[i]]);
+            }
+        }
+        assertEquals(n, order.length);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.graph.topo;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReachabilityIndexTest {
+
+    private static CsrGraph randomDag(Random rnd, int n, int m) {
+        // Edges go from lower to higher rank in a shuffled ranking, so ids are not topological.
+        List<Integer> rank = new ArrayList<>();
+        for (int v = 0; v < n; v++) rank.add(v);
+        Collections.shuffle(rank, rnd);
+        CsrGraph.Builder b = new CsrGraph.Builder(n);
+        for (int i = 0; i < m; i++) {
+            int a = rnd.nextInt(n - 1);
+            int c = a + 1 + rnd.nextInt(Math.min(n - a - 1, 20));
+            b.addEdge(rank.get(a), rank.get(c), 1);
+        }
+        return b.build();
+    }
+
+    private static boolean[][] closure(CsrGraph g) {
+        int n = g.size();
+        boolean[][] reach = new boolean[n][n];
+        for (int s = 0; s < n; s++) {
+            Deque<Integer> stack = new ArrayDeque<>(List.of(s));
+            reach[s][s] = true;
+            while (!stack.isEmpty()) {
+                int u = stack.pop();
+                for (int i = g.offsets()[u]; i < g.offsets()[u + 1]; i++) {
+                    int v = g.targets()[i];
+                    if (!reach[s][v]) {
+                        reach[s][v] = true;
+                        stack.push(v);
+                    }
+                }
+            }
+        }
+        return reach;
+    }
+
+    @Test
+    void testLabelsAndClosureMatchTraversal() {
+        Random rnd = new Random(23);
+        for (int trial = 0; trial < 10; trial++) {
+            int n = 2 + rnd.nextInt(300);
+            CsrGraph dag = randomDag(rnd, n, rnd.nextInt(3 * n));
+            int[] order = new KahnTopoSort(dag, new PerformanceTracker()).orderArray();
+            boolean[][] expected = closure(dag);
+
+            ReachabilityIndex labels = new ReachabilityIndex(dag, order, 1 + trial % 4, 0, new PerformanceTracker());
+            ReachabilityIndex bits = new ReachabilityIndex(dag, order, new PerformanceTracker());
+            assertFalse(labels.hasClosure());
+            assertTrue(bits.hasClosure());
+            for (int u = 0; u < n; u++) {
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected[u][v], labels.reaches(u, v), u + " -> " + v);
+                    assertEquals(expected[u][v], bits.reaches(u, v), u + " -> " + v);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBuildIsReportedAsPhase() {
+        CsrGraph dag = randomDag(new Random(4), 500, 1500);
+        PerformanceTracker m = new PerformanceTracker();
+        ReachabilityIndex index = new ReachabilityIndex(dag,
+                new KahnTopoSort(dag, new PerformanceTracker()).orderArray(), 2, 0, m);
+
+        assertTrue(m.getPhases().containsKey("reachability_index"));
+        assertEquals(2L * 500, m.getDfsVisits());
+        assertEquals(4L * (2 * 2 * 500 + 500 + 500), index.indexBytes());
+        assertEquals(index.indexBytes(), m.getPhases().get("reachability_index").retainedBytes);
+    }
+
+    @Test
+    void testRejectsCyclicOrder() {
+        CsrGraph cycle = new CsrGraph.Builder(2).addEdge(0, 1, 1).addEdge(1, 0, 1).build();
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReachabilityIndex(cycle, new int[0], new PerformanceTracker()));
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.graph.topo;
+
+import org.example.metrics.PerformanceTracker;
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransitiveReductionTest {
+
+    // Distinct edges from lower to higher id, at most span apart.
+    private static CsrGraph randomDag(Random rnd, int n, int m, int span) {
+        Set<Long> seen = new HashSet<>();
+        CsrGraph.Builder b = new CsrGraph.Builder(n);
+        for (int i = 0; i < m; i++) {
+            int u = rnd.nextInt(n - 1);
+            int v = u + 1 + rnd.nextInt(Math.min(span, n - u - 1));
+            if (seen.add((long) u * n + v)) b.addEdge(u, v, 1 + rnd.nextInt(5));
+        }
+        return b.build();
+    }
+
+    // Whether v is reachable from u without using the edge at index skip.
+    private static boolean reaches(CsrGraph g, int u, int v, int skip) {
+        boolean[] seen = new boolean[g.size()];
+        Deque<Integer> stack = new ArrayDeque<>(List.of(u));
+        while (!stack.isEmpty()) {
+            int x = stack.pop();
+            for (int i = g.offsets()[x]; i < g.offsets()[x + 1]; i++) {
+                int y = g.targets()[i];
+                if (i == skip || seen[y]) continue;
+                if (y == v) return true;
+                seen[y] = true;
+                stack.push(y);
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void testDropsExactlyTheShortcuts() {
+        // 0 -> 1 -> 2 -> 3 with shortcuts 0 -> 2 and 0 -> 3, plus 1 -> 4.
+        CsrGraph g = new CsrGraph.Builder(5)
+                .addEdge(0, 2, 1).addEdge(0, 1, 1).addEdge(0, 3, 1)
+                .addEdge(1, 2, 1).addEdge(2, 3, 1).addEdge(1, 4, 7).build();
+        TransitiveReduction tr = new TransitiveReduction(g, new PerformanceTracker(), 1);
+        CsrGraph reduced = tr.reduce();
+
+        assertEquals(2, tr.removedEdges());
+        assertArrayEquals(new int[]{0, 1, 3, 4, 4, 4}, reduced.offsets());
+        assertArrayEquals(new int[]{1, 2, 4, 3}, reduced.targets());
+        assertArrayEquals(new double[]{1, 1, 7, 1}, reduced.weights(), 1e-9);
+    }
+
+    @Test
+    void testMatchesDefinitionOnRandomDags() {
+        Random rnd = new Random(31);
+        for (int trial = 0; trial < 15; trial++) {
+            int n = 2 + rnd.nextInt(80);
+            CsrGraph g = randomDag(rnd, n, rnd.nextInt(4 * n), n);
+            // Ids are topological, but the reduction must work from any valid order.
+            int[] order = new KahnTopoSort(g, new PerformanceTracker()).orderArray();
+            CsrGraph reduced = new TransitiveReduction(g, new PerformanceTracker(), 2).reduce(order);
+
+            Set<Long> kept = new HashSet<>();
+            for (int u = 0; u < n; u++) {
+                for (int i = reduced.offsets()[u]; i < reduced.offsets()[u + 1]; i++) {
+                    kept.add((long) u * n + reduced.targets()[i]);
+                }
+            }
+            for (int u = 0; u < n; u++) {
+                for (int i = g.offsets()[u]; i < g.offsets()[u + 1]; i++) {
+                    int v = g.targets()[i];
+                    assertEquals(!reaches(g, u, v, i), kept.contains((long) u * n + v), u + " -> " + v);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBlocksAgreeAcrossThreadCounts() {
+        // Large enough to need several column blocks.
+        int n = 40_000;
+        CsrGraph g = randomDag(new Random(2), n, 160_000, 300);
+        PerformanceTracker m = new PerformanceTracker();
+        CsrGraph one = new TransitiveReduction(g, m, 1).reduce();
+        CsrGraph four = new TransitiveReduction(g, new PerformanceTracker(), 4).reduce();
+
+        assertArrayEquals(one.offsets(), four.offsets());
+        assertArrayEquals(one.targets(), four.targets());
+        assertTrue(one.edgeCount() < g.edgeCount());
+        assertTrue(m.getPhases().containsKey("transitive_reduction"));
+
+        // Spot-check kept and dropped edges against the definition.
+        Random rnd = new Random(5);
+        Set<Long> kept = new HashSet<>();
+        for (int u = 0; u < n; u++) {
+            for (int i = one.offsets()[u]; i < one.offsets()[u + 1]; i++) kept.add((long) u * n + one.targets()[i]);
+        }
+        for (int s = 0; s < 200; s++) {
+            int u = rnd.nextInt(n);
+            for (int i = g.offsets()[u]; i < g.offsets()[u + 1]; i++) {
+                int v = g.targets()[i];
+                assertEquals(!reaches(g, u, v, i), kept.contains((long) u * n + v), u + " -> " + v);
+            }
+        }
+    }
+}
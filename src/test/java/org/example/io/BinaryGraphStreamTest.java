@@ -0,0 +1,112 @@
+package org.example.io;
+
+import org.example.model.CsrGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryGraphStreamTest {
+
+    @TempDir
+    Path dir;
+
+    private static CsrGraph randomGraph(Random rnd, int n, int m) {
+        CsrGraph.Builder b = new CsrGraph.Builder(n, m);
+        for (int i = 0; i < m; i++) b.addEdge(rnd.nextInt(n), rnd.nextInt(n), rnd.nextInt(10));
+        return b.build();
+    }
+
+    private static void assertSameGraph(CsrGraph expected, CsrGraph actual) {
+        assertEquals(expected.size(), actual.size());
+        assertArrayEquals(expected.offsets(), actual.offsets());
+        assertArrayEquals(expected.targets(), actual.targets());
+        assertArrayEquals(expected.weights(), actual.weights(), 0.0);
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Random rnd = new Random(3);
+        // Odd sizes exercise the alignment padding; the last graph is large enough to be mapped.
+        CsrGraph[] graphs = {
+                randomGraph(rnd, 5, 7),
+                randomGraph(rnd, 1, 0),
+                randomGraph(rnd, 20_000, 50_001)
+        };
+        Path file = dir.resolve("graphs" + GraphReader.BINARY_EXTENSION);
+        try (BinaryGraphWriter out = new BinaryGraphWriter(file)) {
+            for (CsrGraph g : graphs) out.write(g);
+        }
+
+        try (GraphSource in = GraphReader.open(file.toString())) {
+            for (CsrGraph g : graphs) {
+                assertTrue(in.hasNext());
+                assertSameGraph(g, in.next());
+            }
+            assertFalse(in.hasNext());
+        }
+    }
+
+    @Test
+    void testMatchesJsonInput() throws IOException {
+        Path json = dir.resolve("g.json");
+        Files.writeString(json, """
+                {"graphs": [{"n": 3, "edges": [{"u": 2, "v": 0, "w": 4}, {"u": 0, "v": 1}]}]}""");
+        Path bin = dir.resolve("g" + GraphReader.BINARY_EXTENSION);
+
+        JsonToBinary.main(new String[]{json.toString(), bin.toString()});
+
+        try (GraphSource a = GraphReader.open(json.toString()); GraphSource b = GraphReader.open(bin.toString())) {
+            assertSameGraph(a.next(), b.next());
+            assertFalse(b.hasNext());
+        }
+    }
+
+    @Test
+    void testTruncatedFileRejected() throws IOException {
+        Path file = dir.resolve("cut" + GraphReader.BINARY_EXTENSION);
+        try (BinaryGraphWriter out = new BinaryGraphWriter(file)) {
+            out.write(randomGraph(new Random(1), 10, 30));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 9));
+
+        try (GraphSource in = GraphReader.open(file.toString())) {
+            assertThrows(UncheckedIOException.class, in::next);
+        }
+    }
+
+    @Test
+    void testOversizedHeaderRejectedBeforeAllocating() throws IOException {
+        Path file = dir.resolve("huge" + GraphReader.BINARY_EXTENSION);
+        try (BinaryGraphWriter out = new BinaryGraphWriter(file)) {
+            out.write(randomGraph(new Random(2), 4, 5));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        for (int[] header : new int[][]{{Integer.MAX_VALUE, 5}, {4, 1 << 30}, {Integer.MAX_VALUE - 100, 0}}) {
+            ByteBuffer.wrap(bytes, 8, 8).order(ByteOrder.LITTLE_ENDIAN).putInt(header[0]).putInt(header[1]);
+            Files.write(file, bytes);
+            try (GraphSource in = GraphReader.open(file.toString())) {
+                UncheckedIOException e = assertThrows(UncheckedIOException.class, in::next);
+                assertTrue(e.getCause().getMessage().startsWith("Corrupt graph header"), e.getCause().getMessage());
+            }
+        }
+    }
+
+    @Test
+    void testWrongMagicRejected() throws IOException {
+        Path file = dir.resolve("bad" + GraphReader.BINARY_EXTENSION);
+        Files.write(file, new byte[16]);
+
+        assertThrows(IOException.class, () -> GraphReader.open(file.toString()));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.io;
+
+import org.example.model.CsrGraph;
+import org.example.model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphStreamTest {
+
+    @TempDir
+    Path dir;
+
+    private String write(String json) throws IOException {
+        Path file = dir.resolve("graphs.json");
+        Files.writeString(file, json);
+        return file.toString();
+    }
+
+    @Test
+    void testStreamsGraphsInOrder() throws IOException {
+        String path = write("""
+                {"directed": true, "graphs": [
+                  {"n": 3, "edges": [{"u": 0, "v": 1, "w": 2}, {"u": 1, "v": 2}], "source": 0},
+                  {"edges": [{"u": 1, "v": 0, "w": 5}], "n": 2}
+                ]}""");
+
+        try (GraphStream graphs = GraphReader.stream(path)) {
+            assertTrue(graphs.hasNext());
+            CsrGraph first = graphs.next();
+            assertEquals(3, first.size());
+            assertArrayEquals(new int[]{1, 2}, first.targets());
+            assertArrayEquals(new double[]{2, 1.0}, first.weights(), 1e-9);
+
+            CsrGraph second = graphs.next();
+            assertEquals(2, second.size());
+            assertArrayEquals(new int[]{0, 0, 1}, second.offsets());
+            assertArrayEquals(new double[]{5}, second.weights(), 1e-9);
+
+            assertFalse(graphs.hasNext());
+        }
+    }
+
+    @Test
+    void testSingleRootGraph() throws IOException {
+        String path = write("""
+                {"n": 2, "edges": [{"u": 0, "v": 1, "w": 3}]}""");
+
+        List<Graph> graphs = GraphReader.loadAll(path);
+
+        assertEquals(1, graphs.size());
+        assertEquals(2, graphs.get(0).size());
+        assertEquals(1, graphs.get(0).getAdj().get(0).size());
+        assertEquals(3.0, graphs.get(0).getAdj().get(0).get(0).weight(), 1e-9);
+    }
+
+    @Test
+    void testMissingVertexCountRejected() throws IOException {
+        String path = write("""
+                {"graphs": [{"edges": []}]}""");
+
+        try (GraphStream graphs = GraphReader.stream(path)) {
+            assertThrows(UncheckedIOException.class, graphs::hasNext);
+        }
+    }
+}
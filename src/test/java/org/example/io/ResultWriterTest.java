@@ -0,0 +1,67 @@
+package org.example.io;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private Map<String, Object> result(int id) {
+        Map<String, Object> r = new LinkedHashMap<>();
+        r.put("graph_id", id);
+        r.put("order", List.of(1, 2, 3));
+        r.put("distances", new double[]{0.0, 1.5});
+        return r;
+    }
+
+    @Test
+    void testPrettyOutputMatchesGraphWriter() throws IOException {
+        Path streamed = dir.resolve("streamed.json");
+        Path batched = dir.resolve("batched.json");
+
+        try (ResultWriter out = new ResultWriter(streamed.toString(), true)) {
+            out.write(result(1));
+            out.write(result(2));
+            assertEquals(2, out.count());
+        }
+        GraphWriter.write(batched.toString(), Map.of("results", List.of(result(1), result(2))));
+
+        assertEquals(Files.readString(batched), Files.readString(streamed));
+    }
+
+    @Test
+    void testCompactOutputIsFlushedPerResult() throws IOException {
+        Path file = dir.resolve("compact.json");
+
+        try (ResultWriter out = new ResultWriter(file.toString(), false)) {
+            out.write(result(7));
+            assertTrue(Files.readString(file).contains("\"graph_id\":7"));
+        }
+
+        JsonNode root = new ObjectMapper().readTree(file.toFile());
+        assertEquals(1, root.get("results").size());
+        assertFalse(Files.readString(file).contains("\n"));
+    }
+
+    @Test
+    void testEmptyRun() throws IOException {
+        Path file = dir.resolve("empty.json");
+
+        new ResultWriter(file.toString(), false).close();
+
+        assertEquals("{\"results\":[]}", Files.readString(file));
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformanceTrackerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testTimerAccumulatesAcrossRuns() throws InterruptedException {
+        PerformanceTracker m = new PerformanceTracker();
+        m.startTimer();
+        Thread.sleep(2);
+        m.stopTimer();
+        double first = m.getTimeMs();
+        m.startTimer();
+        Thread.sleep(2);
+        m.stopTimer();
+
+        assertTrue(m.getTimeMs() > first);
+    }
+
+    @Test
+    void testPhasesAreNamedAndSummed() {
+        PerformanceTracker m = new PerformanceTracker();
+        for (int i = 0; i < 3; i++) {
+            try (PerformanceTracker.Phase p = m.phase("build")) {
+                assertNotNull(new long[1024]);
+            }
+        }
+        try (PerformanceTracker.Phase p = m.phase("query")) {
+            m.incRelaxations();
+            p.retain(64);
+        }
+
+        var phases = m.getPhases();
+        assertEquals(List.of("build", "query"), new ArrayList<>(phases.keySet()));
+        assertEquals(3, phases.get("build").count);
+        assertTrue(phases.get("build").timeMs >= 0);
+        assertNotEquals(0, phases.get("build").allocatedBytes);
+        assertEquals(-1, phases.get("build").retainedBytes);
+        assertEquals(64, phases.get("query").retainedBytes);
+    }
+
+    @Test
+    void testNoopIgnoresEverything() {
+        PerformanceTracker m = PerformanceTracker.noop();
+        m.incDfsVisits();
+        m.addEdgesExplored(10);
+        m.startTimer();
+        m.stopTimer();
+        m.phase("x").close();
+
+        assertEquals(0, m.getDfsVisits());
+        assertEquals(0, m.getEdgesExplored());
+        assertEquals(0.0, m.getTimeMs());
+        assertTrue(m.getPhases().isEmpty());
+    }
+
+    @Test
+    void testConcurrentCountersFromManyThreads() throws InterruptedException {
+        PerformanceTracker m = PerformanceTracker.concurrent();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    m.incEdgesExplored();
+                    m.addRelaxations(2);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+
+        assertEquals(40_000, m.getEdgesExplored());
+        assertEquals(80_000, m.getRelaxations());
+        m.reset();
+        assertEquals(0, m.getEdgesExplored());
+    }
+
+    @Test
+    void testConcurrentTimersOnDifferentThreadsDoNotOverlap() throws InterruptedException {
+        PerformanceTracker m = PerformanceTracker.concurrent();
+        m.startTimer();
+        // Another thread's start and stop in the middle must not move this thread's start.
+        Thread other = new Thread(() -> {
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            m.startTimer();
+            m.stopTimer();
+        });
+        other.start();
+        other.join();
+        m.stopTimer();
+        assertTrue(m.getTimeMs() >= 30, "time_ms=" + m.getTimeMs());
+        m.reset();
+        assertEquals(0.0, m.getTimeMs());
+    }
+
+    @Test
+    void testCsvAndJsonSinks() throws IOException {
+        PerformanceTracker m = new PerformanceTracker();
+        m.addPushes(4);
+        m.phase("sort").close();
+
+        Path csv = dir.resolve("m.csv");
+        Path json = dir.resolve("m.json");
+        try (MetricsSink c = MetricsSink.open(csv.toString()); MetricsSink j = MetricsSink.open(json.toString())) {
+            c.record("graph-1/topo", m);
+            j.record("graph-1/topo", m);
+        }
+
+        List<String> rows = Files.readAllLines(csv);
+        assertEquals("scope,metric,value", rows.get(0));
+        assertTrue(rows.contains("graph-1/topo,pushes,4"));
+        assertTrue(rows.contains("graph-1/topo,phase.sort.count,1"));
+
+        List<String> lines = Files.readAllLines(json);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"scope\":\"graph-1/topo\",\"dfsVisits\":0"));
+        assertTrue(lines.get(0).contains("\"sort\":{"));
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsrGraphTest {
+
+    @Test
+    void testFreezeKeepsEdgeOrder() {
+        Graph g = new Graph(3);
+        g.addEdge(0, 2, 1.5);
+        g.addEdge(1, 0, 2);
+        g.addEdge(0, 1, 3);
+
+        CsrGraph csr = g.freeze();
+
+        assertEquals(3, csr.size());
+        assertEquals(3, csr.edgeCount());
+        assertArrayEquals(new int[]{0, 2, 3, 3}, csr.offsets());
+        assertArrayEquals(new int[]{2, 1, 0}, csr.targets());
+        assertArrayEquals(new double[]{1.5, 3, 2}, csr.weights(), 1e-9);
+    }
+
+    @Test
+    void testBuilderMatchesFreeze() {
+        Graph g = new Graph(4);
+        g.addEdge(2, 3, 1);
+        g.addEdge(0, 1, 2);
+        g.addEdge(2, 0, 3);
+        g.addEdge(1, 2, 4);
+
+        CsrGraph built = new CsrGraph.Builder(4).addAll(g).build();
+        CsrGraph frozen = g.freeze();
+
+        assertArrayEquals(frozen.offsets(), built.offsets());
+        assertArrayEquals(frozen.targets(), built.targets());
+        assertArrayEquals(frozen.weights(), built.weights(), 1e-9);
+    }
+
+    @Test
+    void testTranspose() {
+        CsrGraph csr = new CsrGraph.Builder(3)
+                .addEdge(0, 1, 1)
+                .addEdge(0, 2, 2)
+                .addEdge(1, 2, 3)
+                .build();
+
+        CsrGraph t = csr.transpose();
+
+        assertEquals(0, t.outDegree(0));
+        assertEquals(1, t.outDegree(1));
+        assertEquals(2, t.outDegree(2));
+        assertArrayEquals(new int[]{0, 0, 1}, t.targets());
+        assertArrayEquals(new double[]{1, 2, 3}, t.weights(), 1e-9);
+    }
+
+    @Test
+    void testInvalidEdgeRejected() {
+        CsrGraph.Builder b = new CsrGraph.Builder(2);
+        assertThrows(IllegalArgumentException.class, () -> b.addEdge(0, 2, 1));
+    }
+
+    @Test
+    void testContentHashFollowsStructureAndWeights() {
+        CsrGraph a = new CsrGraph.Builder(3).addEdge(0, 1, 2).addEdge(1, 2, 3).build();
+        CsrGraph b = new CsrGraph.Builder(3).addEdge(1, 2, 3).addEdge(0, 1, 2).build();
+
+        assertEquals(a.contentHash(), b.contentHash());
+        CsrGraph weight = new CsrGraph.Builder(3).addEdge(0, 1, 2).addEdge(1, 2, 4).build();
+        CsrGraph target = new CsrGraph.Builder(3).addEdge(0, 1, 2).addEdge(0, 2, 3).build();
+        CsrGraph size = new CsrGraph.Builder(4).addEdge(0, 1, 2).addEdge(1, 2, 3).build();
+        assertNotEquals(a.contentHash(), weight.contentHash());
+        assertNotEquals(a.contentHash(), target.contentHash());
+        assertNotEquals(a.contentHash(), size.contentHash());
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.model;
+
+import org.example.graph.scc.SccAlgorithm;
+import org.example.graph.scc.Tarjan;
+import org.example.graph.topo.Condensation;
+import org.example.graph.topo.CondensationBuilder;
+import org.example.metrics.PerformanceTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapCsrGraphTest {
+
+    private static void assertSameGraph(CsrGraph expected, GraphView actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.edgeCount(), actual.numEdges());
+        for (int v = 0; v < expected.size(); v++) {
+            assertEquals(expected.offsets()[v], actual.edgeStart(v));
+            assertEquals(expected.offsets()[v + 1], actual.edgeEnd(v));
+        }
+        for (int i = 0; i < expected.edgeCount(); i++) {
+            assertEquals(expected.targets()[i], actual.target(i));
+            assertEquals(expected.weights()[i], actual.weight(i));
+        }
+    }
+
+    @Test
+    void testBuilderMatchesOnHeapBuilder() {
+        Random rnd = new Random(9);
+        int n = 500;
+        CsrGraph.Builder heap = new CsrGraph.Builder(n);
+        // A small initial capacity makes the buffers grow several times.
+        try (OffHeapCsrGraph.Builder offHeap = new OffHeapCsrGraph.Builder(n, 3)) {
+            for (int i = 0; i < 3000; i++) {
+                int u = rnd.nextInt(n), v = rnd.nextInt(n);
+                double w = rnd.nextInt(10);
+                heap.addEdge(u, v, w);
+                offHeap.addEdge(u, v, w);
+            }
+            try (OffHeapCsrGraph g = offHeap.build()) {
+                assertSameGraph(heap.build(), g);
+                assertEquals(8L * (n + 1) + 12L * 3000, g.byteSize());
+            }
+        }
+    }
+
+    @Test
+    void testSccAndCondensationMatchOnHeap() {
+        Random rnd = new Random(12);
+        int n = 2000;
+        CsrGraph.Builder b = new CsrGraph.Builder(n);
+        for (int i = 0; i < 2600; i++) b.addEdge(rnd.nextInt(n), rnd.nextInt(n), 1 + rnd.nextInt(9));
+        CsrGraph heap = b.build();
+
+        try (OffHeapCsrGraph offHeap = OffHeapCsrGraph.copyOf(heap)) {
+            assertSameGraph(heap, offHeap);
+            Tarjan a = new Tarjan(heap, new PerformanceTracker());
+            Tarjan c = new Tarjan(offHeap, new PerformanceTracker());
+            a.run();
+            c.run();
+            assertArrayEquals(a.getComponentIds(), c.getComponentIds());
+
+            Condensation x = CondensationBuilder.buildWeighted(heap, a.getComponentIds(), a.count());
+            Condensation y = CondensationBuilder.buildWeighted(offHeap, c.getComponentIds(), c.count());
+            assertArrayEquals(x.minDag().offsets(), y.minDag().offsets());
+            assertArrayEquals(x.minDag().targets(), y.minDag().targets());
+            assertArrayEquals(x.minDag().weights(), y.minDag().weights(), 0.0);
+            assertArrayEquals(x.maxDag().weights(), y.maxDag().weights(), 0.0);
+        }
+    }
+
+    @Test
+    void testOnlyTarjanAcceptsOffHeapGraphs() {
+        CsrGraph heap = new CsrGraph.Builder(3).addEdge(0, 1, 1).addEdge(1, 0, 1).addEdge(1, 2, 1).build();
+        try (OffHeapCsrGraph g = OffHeapCsrGraph.copyOf(heap)) {
+            SccAlgorithm tarjan = SccAlgorithm.create("tarjan", g, new PerformanceTracker());
+            tarjan.run();
+            assertEquals(2, tarjan.count());
+            for (String engine : List.of("kosaraju", "kosaraju-iterative", "parallel")) {
+                IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                        () -> SccAlgorithm.create(engine, g, new PerformanceTracker()));
+                assertTrue(e.getMessage().contains("tarjan"), e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    void testClosedGraphRejectsAccess() {
+        OffHeapCsrGraph g = OffHeapCsrGraph.copyOf(new CsrGraph.Builder(2).addEdge(0, 1, 1).build());
+        g.close();
+        assertThrows(IllegalStateException.class, () -> g.target(0));
+    }
+}
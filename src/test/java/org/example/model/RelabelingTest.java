@@ -0,0 +1,98 @@
+package org.example.model;
+
+import org.example.graph.scc.SccAlgorithm;
+import org.example.metrics.PerformanceTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelabelingTest {
+
+    private static CsrGraph random(Random rnd, int n, int m) {
+        CsrGraph.Builder b = new CsrGraph.Builder(n, m);
+        for (int i = 0; i < m; i++) b.addEdge(rnd.nextInt(n), rnd.nextInt(n), rnd.nextInt(9));
+        return b.build();
+    }
+
+    private static Set<List<Integer>> sccs(CsrGraph g) {
+        SccAlgorithm scc = SccAlgorithm.create("tarjan", g, new PerformanceTracker(), 1);
+        scc.run();
+        Set<List<Integer>> out = new HashSet<>();
+        for (List<Integer> c : scc.getComponents()) {
+            List<Integer> sorted = new ArrayList<>(c);
+            sorted.sort(Comparator.naturalOrder());
+            out.add(sorted);
+        }
+        return out;
+    }
+
+    @Test
+    void testEveryStrategyIsAPermutationPreservingEdges() {
+        CsrGraph g = random(new Random(5), 200, 600);
+        for (Relabeling.Strategy s : Relabeling.Strategy.values()) {
+            Relabeling r = Relabeling.of(s, g);
+            boolean[] hit = new boolean[g.size()];
+            for (int v = 0; v < g.size(); v++) {
+                assertEquals(v, r.toOriginal(r.newId(v)));
+                hit[r.newId(v)] = true;
+            }
+            for (boolean h : hit) assertTrue(h, s.key());
+
+            CsrGraph h = r.apply(g);
+            assertEquals(g.edgeCount(), h.edgeCount());
+            for (int u = 0; u < g.size(); u++) {
+                int nu = r.newId(u);
+                assertEquals(g.outDegree(u), h.outDegree(nu));
+                for (int i = 0; i < g.outDegree(u); i++) {
+                    assertEquals(r.newId(g.targets()[g.offsets()[u] + i]), h.targets()[h.offsets()[nu] + i]);
+                    assertEquals(g.weights()[g.offsets()[u] + i], h.weights()[h.offsets()[nu] + i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testComponentsMapBackToOriginalIds() {
+        CsrGraph g = random(new Random(11), 300, 450);
+        Set<List<Integer>> expected = sccs(g);
+        for (Relabeling.Strategy s : Relabeling.Strategy.values()) {
+            Relabeling r = Relabeling.of(s, g);
+            SccAlgorithm scc = SccAlgorithm.create("tarjan", r.apply(g), new PerformanceTracker(), 1);
+            scc.run();
+            assertEquals(expected, new HashSet<>(r.toOriginal(scc.getComponents())), s.key());
+        }
+    }
+
+    @Test
+    void testOrders() {
+        // Star around 3 plus a path 0 - 1 - 2 - 3.
+        CsrGraph g = new CsrGraph.Builder(6)
+                .addEdge(0, 1, 1).addEdge(1, 2, 1).addEdge(2, 3, 1)
+                .addEdge(4, 3, 1).addEdge(3, 5, 1).build();
+
+        Relabeling degree = Relabeling.of(Relabeling.Strategy.DEGREE, g);
+        assertEquals(3, degree.toOriginal(0));
+        assertArrayEquals(new int[]{3, 1, 2, 0, 4, 5}, order(degree));
+
+        // BFS from 0 keeps the path's vertices adjacent; out-neighbours come before in-neighbours.
+        assertArrayEquals(new int[]{0, 1, 2, 3, 5, 4}, order(Relabeling.of(Relabeling.Strategy.BFS, g)));
+
+        // Cuthill-McKee starts at the smallest-degree vertex 0; reversed, it ends there.
+        Relabeling rcm = Relabeling.of(Relabeling.Strategy.RCM, g);
+        assertEquals(0, rcm.toOriginal(5));
+        assertEquals(1, rcm.toOriginal(4));
+    }
+
+    @Test
+    void testUnknownStrategy() {
+        assertThrows(IllegalArgumentException.class, () -> Relabeling.Strategy.of("random"));
+    }
+
+    private static int[] order(Relabeling r) {
+        int[] order = new int[r.size()];
+        for (int v = 0; v < order.length; v++) order[v] = r.toOriginal(v);
+        return order;
+    }
+}